@@ -0,0 +1,101 @@
+package org.abelsromero.pdfbox.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates the documents used by the benchmarks. Files are cached in the build directory.
+ * <p>
+ * Images are random noise, so their size (and the size of the document) grows with the image side.
+ *
+ * @author abelsromero
+ */
+public class Corpus {
+
+    private static final File CORPUS_DIR = new File("build/jmh-corpus");
+
+    /**
+     * @param pages         number of pages
+     * @param imagesPerPage distinct images drawn in each page
+     * @param imageSize     width and height of the images in pixels
+     */
+    public static File pdf(int pages, int imagesPerPage, int imageSize) throws IOException {
+        final File file = new File(directory(), String.format("corpus-%s-%s-%s.pdf", pages, imagesPerPage, imageSize));
+        if (file.exists())
+            return file;
+
+        // fixed seed, so that all runs use the same documents
+        final Random random = new Random(pages * 31L + imagesPerPage);
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 12);
+                    contentStream.newLineAtOffset(50, 800);
+                    contentStream.showText("Page " + (i + 1));
+                    contentStream.endText();
+                    for (int j = 0; j < imagesPerPage; j++) {
+                        PDImageXObject image = LosslessFactory.createFromImage(document, randomImage(random, imageSize));
+                        contentStream.drawImage(image, 50 + j * 110, 50, 100, 100);
+                    }
+                }
+            }
+            document.save(file);
+        }
+        return file;
+    }
+
+    /**
+     * Returns a PNG image of {@code size} x {@code size} pixels.
+     */
+    public static File image(int size) throws IOException {
+        final File file = new File(directory(), String.format("image-%s.png", size));
+        if (!file.exists()) {
+            ImageIO.write(randomImage(new Random(size), size), "png", file);
+        }
+        return file;
+    }
+
+    /**
+     * Returns an empty directory to write benchmarks results.
+     */
+    public static File outputDirectory(String name) {
+        final File output = new File(directory(), "output-" + name);
+        final File[] files = output.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        output.mkdirs();
+        return output;
+    }
+
+    private static File directory() {
+        CORPUS_DIR.mkdirs();
+        return CORPUS_DIR;
+    }
+
+    private static BufferedImage randomImage(Random random, int size) {
+        final BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        return image;
+    }
+}
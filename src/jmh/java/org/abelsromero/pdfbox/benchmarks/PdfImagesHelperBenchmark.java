@@ -0,0 +1,117 @@
+package org.abelsromero.pdfbox.benchmarks;
+
+import org.abelsromero.pdfbox.api.ExtractionOptions;
+import org.abelsromero.pdfbox.api.PdfImagesHelper;
+import org.abelsromero.pdfbox.api.Stamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfImagesHelperBenchmark {
+
+    @Param({"10", "100"})
+    int pages;
+
+    @Param({"1", "4"})
+    int imagesPerPage;
+
+    @Param({"64", "512"})
+    int imageSize;
+
+    private File pdf;
+    private File image;
+    private File output;
+    private List<Stamp> stamps;
+    private List<Integer> allPages;
+
+    @Setup
+    public void setup() throws IOException {
+        pdf = Corpus.pdf(pages, imagesPerPage, imageSize);
+        image = Corpus.image(imageSize);
+        output = Corpus.outputDirectory("images-helper");
+        allPages = IntStream.rangeClosed(1, pages).boxed().collect(Collectors.toList());
+        stamps = new ArrayList<>();
+        for (int page : allPages) {
+            stamps.add(Stamp.of(image, page, 10, 10));
+        }
+    }
+
+    @Benchmark
+    public void stampImage() throws IOException {
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf)) {
+            helper.stampImage(image, 1, 10, 10, "note")
+                .writeTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public void stampImagesInAllPages() throws IOException {
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf)) {
+            helper.stampImages(stamps)
+                .writeTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public void overlayImageInAllPages() throws IOException {
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf)) {
+            helper.overlayImage(image, allPages, 10, 10, 50)
+                .writeTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public void replaceWithImage() throws IOException {
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf)) {
+            helper.replaceWithImage(image, 1, 10, 10)
+                .writeTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    @Benchmark
+    public void writeImagesToDir(Blackhole blackhole) throws IOException {
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf)) {
+            blackhole.consume(helper.writeImagesToDir(output, "image"));
+        }
+    }
+
+    @Benchmark
+    public void writeImagesToDirInParallel(Blackhole blackhole) throws IOException {
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf)) {
+            blackhole.consume(helper.writeImagesToDir(output, "image", ExtractionOptions.with().parallel(4)));
+        }
+    }
+
+    @Benchmark
+    public void getRenderedImages(Blackhole blackhole) throws IOException {
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf)) {
+            blackhole.consume(helper.getRenderedImages());
+        }
+    }
+
+    @Benchmark
+    public void streamRenderedImages(Blackhole blackhole) throws IOException {
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf);
+             var images = helper.streamRenderedImages()) {
+            images.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.abelsromero.pdfbox.benchmarks;
+
+import org.abelsromero.pdfbox.PdfMerger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfMergerBenchmark {
+
+    @Param({"10", "100"})
+    int files;
+
+    @Param({"1", "10"})
+    int pagesPerFile;
+
+    @Param({"0", "2"})
+    int imagesPerPage;
+
+    @Param({"0", "4"})
+    int prefetch;
+
+    private List<File> pdfs;
+    private File output;
+
+    @Setup
+    public void setup() throws IOException {
+        final File pdf = Corpus.pdf(pagesPerFile, imagesPerPage, 64);
+        pdfs = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            pdfs.add(pdf);
+        }
+        output = new File(Corpus.outputDirectory("merger"), "merged.pdf");
+    }
+
+    @Benchmark
+    public void merge() throws IOException {
+        new PdfMerger()
+            .prefetch(prefetch)
+            .processFiles(pdfs, output);
+    }
+
+    @Benchmark
+    public void mergeDeduplicatingResources() throws IOException {
+        new PdfMerger()
+            .prefetch(prefetch)
+            .deduplicateResources()
+            .processFiles(pdfs, output);
+    }
+}
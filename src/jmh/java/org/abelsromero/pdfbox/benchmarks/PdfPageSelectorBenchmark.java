@@ -0,0 +1,93 @@
+package org.abelsromero.pdfbox.benchmarks;
+
+import org.abelsromero.pdfbox.api.PdfPageSelector;
+import org.abelsromero.pdfbox.api.SelectorSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfPageSelectorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int pages;
+
+    @Param({"0", "2"})
+    int imagesPerPage;
+
+    private File pdf;
+    private int[] evenPages;
+    private int[] allPages;
+
+    @Setup
+    public void setup() throws IOException {
+        pdf = Corpus.pdf(pages, imagesPerPage, 64);
+        evenPages = IntStream.rangeClosed(1, pages).filter(i -> i % 2 == 0).toArray();
+        allPages = IntStream.rangeClosed(1, pages).toArray();
+    }
+
+    @Benchmark
+    public void selectFirstPage() {
+        PdfPageSelector.builder()
+            .file(pdf)
+            .pages(1)
+            .writeTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void selectEvenPages() {
+        PdfPageSelector.builder()
+            .file(pdf)
+            .pages(evenPages)
+            .writeTo(OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Selects all pages, spelled out one by one.
+     */
+    @Benchmark
+    public void selectAllPages() {
+        PdfPageSelector.builder()
+            .file(pdf)
+            .pages(allPages)
+            .writeTo(OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Same selection as {@link #selectAllPages()}, held as a single interval.
+     */
+    @Benchmark
+    public void selectAllPagesRange() {
+        PdfPageSelector.builder()
+            .file(pdf)
+            .pages("1-end")
+            .writeTo(OutputStream.nullOutputStream());
+    }
+
+    /**
+     * Cuts every page as its own document, parsing the source once.
+     */
+    @Benchmark
+    public void selectEachPageFromSession() throws IOException {
+        try (SelectorSession session = PdfPageSelector.builder()
+            .file(pdf)
+            .openSession()) {
+            for (int i = 1; i <= pages; i++) {
+                session.writeTo(OutputStream.nullOutputStream(), i);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.abelsromero.pdfbox.benchmarks;
+
+import org.abelsromero.pdfbox.api.PdfRotator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfRotatorBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int pages;
+
+    @Param({"0", "2"})
+    int imagesPerPage;
+
+    private File pdf;
+
+    @Setup
+    public void setup() throws IOException {
+        pdf = Corpus.pdf(pages, imagesPerPage, 64);
+    }
+
+    @Benchmark
+    public void rotateRight() throws IOException {
+        try (PdfRotator rotator = PdfRotator.loadPdf(pdf)) {
+            rotator.rotateRight()
+                .writeTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.abelsromero.pdfbox.benchmarks;
+
+import org.abelsromero.pdfbox.PdfSplitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfSplitterBenchmark {
+
+    @Param({"100", "1000"})
+    int pages;
+
+    @Param({"0", "2"})
+    int imagesPerPage;
+
+    @Param({"1", "10"})
+    int pagesPerChunk;
+
+    @Param({"1", "4"})
+    int workers;
+
+    private File pdf;
+    private File output;
+
+    @Setup
+    public void setup() throws IOException {
+        pdf = Corpus.pdf(pages, imagesPerPage, 64);
+        output = Corpus.outputDirectory("splitter");
+    }
+
+    @Benchmark
+    public PdfSplitter.SplitReport split() throws IOException {
+        return new PdfSplitter()
+            .pagesPerChunk(pagesPerChunk)
+            .workers(workers)
+            .processFile(pdf, output);
+    }
+}
@@ -1,14 +1,23 @@
 package org.abelsromero.pdfbox;
 
+import org.abelsromero.pdfbox.api.LoadingPolicy;
+import org.abelsromero.pdfbox.api.internal.ResourceDeduplicator;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
 
 import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class PdfMerger {
@@ -18,6 +27,10 @@ public class PdfMerger {
 
     private final DateTimeFormatter dt = DateTimeFormatter.ofPattern("yyMMdd-HHmmss");
 
+    private LoadingPolicy loadingPolicy = LoadingPolicy.mainMemoryOnly();
+    private int prefetch = 0;
+    private boolean deduplicateResources = false;
+
     public static void main(String[] args) throws IOException {
         final List<File> sortedPDFs = Arrays.stream(new File(SRC_DIR)
             .listFiles((dir, name) -> name.endsWith("pdf")))
@@ -28,18 +41,111 @@ public class PdfMerger {
             .processFiles(sortedPDFs);
     }
 
-    private void processFiles(List<File> pdfs) throws IOException {
-        PDDocument document = new PDDocument();
+    public PdfMerger loadingPolicy(LoadingPolicy loadingPolicy) {
+        this.loadingPolicy = loadingPolicy;
+        return this;
+    }
+
+    /**
+     * Number of documents loaded in background threads while the current one is appended (default 0).
+     * At most {@code prefetch + 1} sources are open at the same time.
+     */
+    public PdfMerger prefetch(int documents) {
+        if (documents < 0)
+            throw new IllegalArgumentException(String.format("Invalid prefetch: %s", documents));
+        this.prefetch = documents;
+        return this;
+    }
+
+    /**
+     * Collapses identical images, font programs and ICC profiles from different sources into a single object
+     * before saving. Requires reading all of them once more.
+     */
+    public PdfMerger deduplicateResources() {
+        this.deduplicateResources = true;
+        return this;
+    }
+
+    public void processFiles(List<File> pdfs) throws IOException {
+        processFiles(pdfs, outputFile(TARGET_FILE));
+    }
 
-        for (File pdfFile : pdfs) {
-            PDDocument pdDoc = PDDocument.load(pdfFile);
-            for (PDPage page : pdDoc.getPages()) {
-                document.addPage(page);
+    /**
+     * Appends all documents in order and saves the result to {@code target}.
+     * <p>
+     * Pages are copied into the merged document, so each source is closed before loading the next one.
+     * Use {@link LoadingPolicy#tempFileOnly()} to also keep the merged document out of the heap.
+     */
+    public void processFiles(List<File> pdfs, File target) throws IOException {
+        final PDFMergerUtility merger = new PDFMergerUtility();
+        try (PDDocument document = loadingPolicy.createDocument()) {
+            if (prefetch == 0 || pdfs.size() < 2) {
+                for (File pdfFile : pdfs) {
+                    try (PDDocument source = loadingPolicy.load(pdfFile)) {
+                        merger.appendDocument(document, source);
+                    }
+                }
+            } else {
+                appendPrefetching(merger, document, pdfs);
             }
+            if (deduplicateResources) {
+                new ResourceDeduplicator().process(document);
+            }
+            document.save(target);
         }
+    }
 
-        File file = outputFile(TARGET_FILE);
-        document.save(file);
+    /**
+     * Appends documents in order while the next ones are parsed in background.
+     */
+    private void appendPrefetching(PDFMergerUtility merger, PDDocument document, List<File> pdfs) throws IOException {
+        final ExecutorService loader = Executors.newFixedThreadPool(Math.min(prefetch, pdfs.size()));
+        final Deque<Future<PDDocument>> loading = new ArrayDeque<>();
+        final Iterator<File> pending = pdfs.iterator();
+        try {
+            while (loading.size() < prefetch && pending.hasNext()) {
+                loading.add(load(loader, pending.next()));
+            }
+            while (!loading.isEmpty()) {
+                try (PDDocument source = loading.poll().get()) {
+                    // refill before appending, so that parsing overlaps with it
+                    if (pending.hasNext()) {
+                        loading.add(load(loader, pending.next()));
+                    }
+                    merger.appendDocument(document, source);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Merge interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        } finally {
+            loader.shutdown();
+            closeLoaded(loading);
+        }
+    }
+
+    private Future<PDDocument> load(ExecutorService loader, File pdf) {
+        return loader.submit(() -> loadingPolicy.load(pdf));
+    }
+
+    /**
+     * Closes documents loaded but not appended after a failure.
+     */
+    private static void closeLoaded(Deque<Future<PDDocument>> loading) {
+        for (Future<PDDocument> future : loading) {
+            try {
+                future.get().close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException | IOException e) {
+                // nothing to close, or already failing
+            }
+        }
     }
 
     private File outputFile(String template) {
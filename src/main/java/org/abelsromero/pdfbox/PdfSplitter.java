@@ -1,15 +1,43 @@
 package org.abelsromero.pdfbox;
 
-import org.apache.pdfbox.multipdf.Splitter;
+import org.abelsromero.pdfbox.api.LoadingPolicy;
+import org.abelsromero.pdfbox.api.internal.LinkDestinations;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.abelsromero.pdfbox.utils.LocalUtils.getFileFromClassPath;
 
 /**
+ * Splits a PDF in chunks, saving and closing each one as soon as it is cut so that
+ * memory does not grow with the number of pages of the source.
+ * <p>
+ * Chunks are written to files named {@code <source name>-<index of first page>.pdf}, with
+ * the index counting from 0. With the default of 1 page per chunk this is the page index.
+ * <p>
+ * When more than one worker is configured, the pages are partitioned in contiguous ranges (aligned to
+ * the pages per chunk) and each worker opens its own copy of the source, so no PDFBox object is
+ * shared between threads.
+ * <p>
  * Note: Splitter was located in package `org.apache.pdfbox.util` in PDFBox versions previous to 2.0.0
  *
  * @author abelsromero
@@ -18,11 +46,20 @@ public class PdfSplitter {
 
     public static final String SRC_FILE = "20160706092157753.pdf";
 
+    private int pagesPerChunk = 1;
+    private long maxBytesPerChunk = 0;
+    private int workers = 1;
+    // Temp file backed by default so that decoded streams of the source do not pile up in heap
+    private LoadingPolicy loadingPolicy = LoadingPolicy.tempFileOnly();
+
     public static void main(String[] args) throws IOException {
         final File source = findFile(SRC_FILE);
 
         new PdfSplitter()
-            .processFile(source);
+            .workers(Runtime.getRuntime().availableProcessors())
+            .processFile(source)
+            .getWorkers()
+            .forEach(System.out::println);
     }
 
     private static File findFile(String path) {
@@ -32,18 +69,285 @@ public class PdfSplitter {
         return getFileFromClassPath(SRC_FILE);
     }
 
-    public void processFile(File sourceFile) throws IOException {
-        processFile(sourceFile, sourceFile.getParentFile());
+    /**
+     * Maximum number of pages for each chunk (default 1).
+     */
+    public PdfSplitter pagesPerChunk(int pages) {
+        if (pages <= 0)
+            throw new IllegalArgumentException(String.format("Invalid pages per chunk: %s", pages));
+        this.pagesPerChunk = pages;
+        return this;
+    }
+
+    /**
+     * Approximate maximum size for each chunk, 0 (default) means no limit.
+     * <p>
+     * Size is estimated from the encoded length of the content and XObject streams of the pages,
+     * a page bigger than the limit still produces a chunk of its own.
+     */
+    public PdfSplitter maxBytesPerChunk(long bytes) {
+        if (bytes < 0)
+            throw new IllegalArgumentException(String.format("Invalid bytes per chunk: %s", bytes));
+        this.maxBytesPerChunk = bytes;
+        return this;
+    }
+
+    /**
+     * Number of threads used to split the document (default 1).
+     */
+    public PdfSplitter workers(int workers) {
+        if (workers <= 0)
+            throw new IllegalArgumentException(String.format("Invalid number of workers: %s", workers));
+        this.workers = workers;
+        return this;
+    }
+
+    public PdfSplitter loadingPolicy(LoadingPolicy loadingPolicy) {
+        this.loadingPolicy = loadingPolicy;
+        return this;
+    }
+
+    public SplitReport processFile(File sourceFile) throws IOException {
+        return processFile(sourceFile, sourceFile.getParentFile());
+    }
+
+    public SplitReport processFile(File sourceFile, File targetDirectory) throws IOException {
+        final int pagesCount;
+        try (PDDocument document = load(sourceFile)) {
+            pagesCount = document.getNumberOfPages();
+            if (workers == 1 || pagesCount <= pagesPerChunk) {
+                final WorkerReport report = split(document, sourceFile.getName(), targetDirectory, 0, 0, pagesCount);
+                return new SplitReport(List.of(report));
+            }
+        }
+        return splitInParallel(sourceFile, targetDirectory, pagesCount);
+    }
+
+    private SplitReport splitInParallel(File sourceFile, File targetDirectory, int pagesCount) throws IOException {
+        final int chunksCount = (pagesCount + pagesPerChunk - 1) / pagesPerChunk;
+        final int workersCount = Math.min(workers, chunksCount);
+
+        final List<Callable<WorkerReport>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < workersCount; worker++) {
+            // balanced partition of chunks, so that workers differ by one chunk at most
+            final int id = worker;
+            final int start = (int) ((long) worker * chunksCount / workersCount) * pagesPerChunk;
+            final int end = Math.min(pagesCount, (int) ((long) (worker + 1) * chunksCount / workersCount) * pagesPerChunk);
+            tasks.add(() -> {
+                // each worker has its own document, PDFBox objects are not thread-safe
+                try (PDDocument document = load(sourceFile)) {
+                    return split(document, sourceFile.getName(), targetDirectory, id, start, end);
+                }
+            });
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            final List<WorkerReport> reports = new ArrayList<>();
+            for (Future<WorkerReport> result : executor.invokeAll(tasks)) {
+                reports.add(result.get());
+            }
+            return new SplitReport(reports);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Split interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
-    public void processFile(File sourceFile, File targetDirectory) throws IOException {
-        PDDocument document = PDDocument.load(sourceFile);
-        Splitter splitter = new Splitter();
+    private PDDocument load(File sourceFile) throws IOException {
+        return loadingPolicy.load(sourceFile);
+    }
+
+    /**
+     * Splits pages from {@code from} (inclusive) to {@code to} (exclusive), counting from 0.
+     */
+    private WorkerReport split(PDDocument document, String basename, File targetDirectory, int worker, int from, int to) throws IOException {
+        final long start = System.nanoTime();
+        final ChunkWriter writer = new ChunkWriter(basename, targetDirectory);
+        for (int pageIndex = from; pageIndex < to; pageIndex++) {
+            writer.add(document.getPage(pageIndex), pageIndex);
+        }
+        writer.flush();
+        return new WorkerReport(worker, to - from, writer.chunks, System.nanoTime() - start);
+    }
+
+    /**
+     * Holds a single chunk in memory at a time.
+     */
+    private class ChunkWriter {
+
+        private final String basename;
+        private final File targetDirectory;
+
+        private PDDocument chunk;
+        private int chunkFirstPage;
+        private int chunkPages;
+        private long chunkBytes;
+        private int chunks;
+        // Streams already counted for the current chunk, resources are usually shared between pages
+        private final Set<COSStream> countedStreams = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        ChunkWriter(String basename, File targetDirectory) {
+            this.basename = basename;
+            this.targetDirectory = targetDirectory;
+        }
+
+        void add(PDPage page, int pageIndex) throws IOException {
+            long pageBytes = maxBytesPerChunk > 0 ? estimateSize(page) : 0;
+
+            if (chunk != null && (chunkPages == pagesPerChunk ||
+                (maxBytesPerChunk > 0 && chunkBytes + pageBytes > maxBytesPerChunk))) {
+                flush();
+                // estimate again, shared resources were counted against the previous chunk
+                pageBytes = maxBytesPerChunk > 0 ? estimateSize(page) : 0;
+            }
+            if (chunk == null) {
+                chunk = new PDDocument();
+                chunkFirstPage = pageIndex;
+            }
+            chunkBytes += pageBytes;
+
+            final PDPage imported = chunk.importPage(page);
+            if (page.getResources() != null && !page.getCOSObject().containsKey(COSName.RESOURCES)) {
+                // if resources are inherited, assign them
+                imported.setResources(page.getResources());
+            }
+            detachAnnotations(imported);
+            chunkPages++;
+        }
+
+        void flush() throws IOException {
+            if (chunk == null)
+                return;
+            try {
+                chunk.save(new File(targetDirectory, "%s-%s".formatted(basename, chunkFirstPage) + ".pdf"));
+            } finally {
+                chunk.close();
+                chunk = null;
+                chunks++;
+                chunkPages = 0;
+                chunkBytes = 0;
+                countedStreams.clear();
+            }
+        }
+
+        private long estimateSize(PDPage page) {
+            long size = 0;
+            final Iterator<PDStream> contents = page.getContentStreams();
+            while (contents.hasNext()) {
+                size += streamSize(contents.next().getCOSObject());
+            }
+            if (page.getResources() != null) {
+                size += xObjectsSize(page.getResources().getCOSObject());
+            }
+            return size;
+        }
+
+        private long xObjectsSize(COSDictionary resources) {
+            final COSBase xobjects = resources.getDictionaryObject(COSName.XOBJECT);
+            if (!(xobjects instanceof COSDictionary))
+                return 0;
+
+            long size = 0;
+            final COSDictionary xobjectsDictionary = (COSDictionary) xobjects;
+            for (COSName name : xobjectsDictionary.keySet()) {
+                final COSBase xobject = xobjectsDictionary.getDictionaryObject(name);
+                if (xobject instanceof COSStream && !countedStreams.contains(xobject)) {
+                    final COSStream stream = (COSStream) xobject;
+                    size += streamSize(stream);
+                    // forms can contain images as well
+                    final COSBase formResources = stream.getDictionaryObject(COSName.RESOURCES);
+                    if (formResources instanceof COSDictionary) {
+                        size += xObjectsSize((COSDictionary) formResources);
+                    }
+                }
+            }
+            return size;
+        }
+
+        private long streamSize(COSStream stream) {
+            return countedStreams.add(stream) ? stream.getLength() : 0;
+        }
+    }
+
+    /**
+     * Removes references to pages of the source, otherwise the whole source would be written in each chunk.
+     * Same as {@link org.apache.pdfbox.multipdf.Splitter} does.
+     */
+    private static void detachAnnotations(PDPage imported) throws IOException {
+        for (PDAnnotation annotation : imported.getAnnotations()) {
+            LinkDestinations.detach(annotation.getCOSObject());
+            annotation.setPage(null);
+        }
+    }
+
+    /**
+     * Summary of a split operation, one entry per worker.
+     */
+    public static class SplitReport {
+
+        private final List<WorkerReport> workers;
+
+        SplitReport(List<WorkerReport> workers) {
+            this.workers = Collections.unmodifiableList(workers);
+        }
+
+        public List<WorkerReport> getWorkers() {
+            return workers;
+        }
+
+        public int getPages() {
+            return workers.stream().mapToInt(WorkerReport::getPages).sum();
+        }
+
+        public int getChunks() {
+            return workers.stream().mapToInt(WorkerReport::getChunks).sum();
+        }
+    }
+
+    public static class WorkerReport {
+
+        private final int worker;
+        private final int pages;
+        private final int chunks;
+        private final long elapsedNanos;
+
+        WorkerReport(int worker, int pages, int chunks, long elapsedNanos) {
+            this.worker = worker;
+            this.pages = pages;
+            this.chunks = chunks;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getWorker() {
+            return worker;
+        }
+
+        public int getPages() {
+            return pages;
+        }
+
+        public int getChunks() {
+            return chunks;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getPagesPerSecond() {
+            return elapsedNanos == 0 ? 0 : pages * 1_000_000_000d / elapsedNanos;
+        }
 
-        List<PDDocument> pages = splitter.split(document);
-        for (int i = 0; i < pages.size(); i++) {
-            PDDocument doc = pages.get(i);
-            doc.save(new File(targetDirectory, "%s-%s".formatted(sourceFile.getName(), i) + ".pdf"));
+        @Override
+        public String toString() {
+            return String.format("worker %s: %s pages, %s chunks, %.2f pages/s", worker, pages, chunks, getPagesPerSecond());
         }
     }
 }
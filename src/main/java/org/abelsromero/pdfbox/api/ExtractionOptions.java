@@ -0,0 +1,190 @@
+package org.abelsromero.pdfbox.api;
+
+/**
+ * Options for {@link PdfImagesHelper#writeImagesToDir(java.io.File, String, ExtractionOptions)}.
+ *
+ * @author abelsromero
+ */
+public class ExtractionOptions {
+
+    /**
+     * Format of the extracted images.
+     */
+    public enum Format {
+        /**
+         * Same format as stored in the PDF, PNG when there's no writer available (e.g. JPEG 2000).
+         */
+        ORIGINAL,
+        PNG,
+        JPEG,
+        /**
+         * LZW compressed TIFF.
+         */
+        TIFF
+    }
+
+    /**
+     * Color space of the extracted images.
+     */
+    public enum ColorSpace {
+        ORIGINAL,
+        RGB,
+        GRAY
+    }
+
+    private int workers = 1;
+    private boolean rawPassthrough = false;
+    private boolean writeDuplicates = false;
+    private boolean deduplicateByContent = false;
+    private Format format = Format.ORIGINAL;
+    private ColorSpace colorSpace = ColorSpace.ORIGINAL;
+    // -1 means the writer's default
+    private int compressionLevel = -1;
+    private float quality = -1;
+    // 0 means no downscaling
+    private int maxDimension = 0;
+
+    private ExtractionOptions() {
+    }
+
+    /**
+     * Default options, images are extracted page by page in the calling thread.
+     */
+    public static ExtractionOptions with() {
+        return new ExtractionOptions();
+    }
+
+    /**
+     * Scans pages with {@code workers} threads, each with its own copy of the document.
+     * Images are encoded in a separate pool of the same size.
+     */
+    public ExtractionOptions parallel(int workers) {
+        if (workers <= 0)
+            throw new IllegalArgumentException(String.format("Invalid number of workers: %s", workers));
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Copies JPEG (DCTDecode) and JPEG 2000 (JPXDecode) images as they are stored in the document,
+     * without decoding them. Other images, and those whose appearance depends on the document
+     * (masks, CMYK colors or decode arrays), are still decoded and encoded.
+     * <p>
+     * Only applies when the format is {@link Format#ORIGINAL} (or {@link Format#JPEG} for JPEG images),
+     * and images are not downscaled or converted.
+     */
+    public ExtractionOptions rawPassthrough() {
+        this.rawPassthrough = true;
+        return this;
+    }
+
+    /**
+     * Writes a file for each time an image is drawn. By default, images drawn several times
+     * (e.g. a logo in each page) are written once and all their {@link Image}s point to the same file.
+     */
+    public ExtractionOptions writeDuplicates() {
+        this.writeDuplicates = true;
+        return this;
+    }
+
+    /**
+     * Also considers duplicated the images stored several times with the same content, at the cost
+     * of reading all of them. By default, only images that are the same PDF object are.
+     */
+    public ExtractionOptions deduplicateByContent() {
+        this.deduplicateByContent = true;
+        return this;
+    }
+
+    public ExtractionOptions format(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Lossless compression level from 0 (none, fastest) to 9 (smallest), used for PNG.
+     */
+    public ExtractionOptions compressionLevel(int level) {
+        if (level < 0 || level > 9)
+            throw new IllegalArgumentException(String.format("Invalid compression level: %s", level));
+        this.compressionLevel = level;
+        return this;
+    }
+
+    /**
+     * Quality from 0 (smallest) to 1 (best), used for JPEG.
+     */
+    public ExtractionOptions quality(float quality) {
+        if (!(quality >= 0 && quality <= 1))
+            throw new IllegalArgumentException(String.format("Invalid quality: %s", quality));
+        this.quality = quality;
+        return this;
+    }
+
+    /**
+     * Downscales images whose width or height is greater than {@code pixels}, keeping the aspect ratio.
+     */
+    public ExtractionOptions maxDimension(int pixels) {
+        if (pixels <= 0)
+            throw new IllegalArgumentException(String.format("Invalid max dimension: %s", pixels));
+        this.maxDimension = pixels;
+        return this;
+    }
+
+    public ExtractionOptions colorSpace(ColorSpace colorSpace) {
+        this.colorSpace = colorSpace;
+        return this;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public boolean isRawPassthroughEnabled() {
+        return rawPassthrough;
+    }
+
+    public boolean isWriteDuplicatesEnabled() {
+        return writeDuplicates;
+    }
+
+    public boolean isDeduplicateByContentEnabled() {
+        return deduplicateByContent;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public ColorSpace getColorSpace() {
+        return colorSpace;
+    }
+
+    /**
+     * Returns the compression level, or -1 when not set.
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Returns the quality, or -1 when not set.
+     */
+    public float getQuality() {
+        return quality;
+    }
+
+    /**
+     * Returns the max dimension, or 0 when images are not downscaled.
+     */
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Whether images are downscaled or converted to another color space.
+     */
+    public boolean isTransformationEnabled() {
+        return maxDimension > 0 || colorSpace != ColorSpace.ORIGINAL;
+    }
+}
@@ -1,5 +1,8 @@
 package org.abelsromero.pdfbox.api;
 
+import java.io.File;
+import java.util.List;
+
 /**
  * Contains the information about an image found in a PDF
  *
@@ -22,6 +25,17 @@ public class Image {
     private int renderedWidth;
     private int renderedHeight;
 
+    // Image dictionary, as stored in the PDF
+    private int bitsPerComponent;
+    private List<String> filters = List.of();
+    // (Nullable) name of the color space family, e.g. DeviceRGB, ICCBased or Indexed
+    private String colorSpace;
+    // size in bytes of the encoded data
+    private long streamLength;
+
+    // File with the image, shared by all the places where the same image is drawn
+    private File file;
+
     public int getPage() {
         return page;
     }
@@ -77,4 +91,47 @@ public class Image {
     public void setRenderedHeight(int renderedHeight) {
         this.renderedHeight = renderedHeight;
     }
+
+    public int getBitsPerComponent() {
+        return bitsPerComponent;
+    }
+
+    public void setBitsPerComponent(int bitsPerComponent) {
+        this.bitsPerComponent = bitsPerComponent;
+    }
+
+    public List<String> getFilters() {
+        return filters;
+    }
+
+    public void setFilters(List<String> filters) {
+        this.filters = filters;
+    }
+
+    public String getColorSpace() {
+        return colorSpace;
+    }
+
+    public void setColorSpace(String colorSpace) {
+        this.colorSpace = colorSpace;
+    }
+
+    public long getStreamLength() {
+        return streamLength;
+    }
+
+    public void setStreamLength(long streamLength) {
+        this.streamLength = streamLength;
+    }
+
+    /**
+     * Returns the file where the image was written, null when images are only listed.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    public void setFile(File file) {
+        this.file = file;
+    }
 }
@@ -0,0 +1,105 @@
+package org.abelsromero.pdfbox.api;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Defines where PDFBox buffers the documents it loads: heap, temporary files or both.
+ * <p>
+ * Backed by {@link MemoryUsageSetting}, a new setting is created for each document.
+ *
+ * @author abelsromero
+ */
+public class LoadingPolicy {
+
+    private enum Mode {MAIN_MEMORY_ONLY, TEMP_FILE_ONLY, MIXED}
+
+    private final Mode mode;
+    private final long maxMainMemoryBytes;
+    private final File tempDir;
+
+    private LoadingPolicy(Mode mode, long maxMainMemoryBytes, File tempDir) {
+        this.mode = mode;
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Keeps everything in heap, default PDFBox behaviour.
+     */
+    public static LoadingPolicy mainMemoryOnly() {
+        return new LoadingPolicy(Mode.MAIN_MEMORY_ONLY, -1, null);
+    }
+
+    /**
+     * Keeps all buffers in temporary files.
+     */
+    public static LoadingPolicy tempFileOnly() {
+        return new LoadingPolicy(Mode.TEMP_FILE_ONLY, -1, null);
+    }
+
+    /**
+     * Uses heap up to {@code maxMainMemoryBytes} and temporary files for the rest.
+     */
+    public static LoadingPolicy mixed(long maxMainMemoryBytes) {
+        if (maxMainMemoryBytes < 0)
+            throw new IllegalArgumentException(String.format("Invalid max main memory: %s", maxMainMemoryBytes));
+        return new LoadingPolicy(Mode.MIXED, maxMainMemoryBytes, null);
+    }
+
+    /**
+     * Returns a copy of this policy storing temporary files in {@code directory} instead of 'java.io.tmpdir'.
+     */
+    public LoadingPolicy tempDir(File directory) {
+        return new LoadingPolicy(mode, maxMainMemoryBytes, directory);
+    }
+
+    public MemoryUsageSetting toMemoryUsageSetting() {
+        final MemoryUsageSetting setting;
+        switch (mode) {
+            case TEMP_FILE_ONLY:
+                setting = MemoryUsageSetting.setupTempFileOnly();
+                break;
+            case MIXED:
+                setting = MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
+                break;
+            default:
+                setting = MemoryUsageSetting.setupMainMemoryOnly();
+        }
+        return tempDir == null ? setting : setting.setTempDir(tempDir);
+    }
+
+    public PDDocument load(File pdf) throws IOException {
+        return PDDocument.load(pdf, toMemoryUsageSetting());
+    }
+
+    /**
+     * Loads a document reading the file through a {@link org.apache.pdfbox.io.RandomAccessBufferedFileInputStream},
+     * so the file is not copied to a buffer before parsing.
+     * <p>
+     * PDFBox 2.0 still parses every object reachable from the catalog and copies the data of all streams,
+     * this policy decides whether that data is kept in heap or in temporary files.
+     */
+    public PDDocument load(Path pdf) throws IOException {
+        return load(pdf.toFile());
+    }
+
+    /**
+     * Loads a document from a stream, note the whole stream is copied to the buffer defined by the policy.
+     */
+    public PDDocument load(InputStream pdf) throws IOException {
+        return PDDocument.load(pdf, toMemoryUsageSetting());
+    }
+
+    /**
+     * Creates an empty document using this policy.
+     */
+    public PDDocument createDocument() {
+        return new PDDocument(toMemoryUsageSetting());
+    }
+}
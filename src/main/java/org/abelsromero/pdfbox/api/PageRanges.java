@@ -0,0 +1,181 @@
+package org.abelsromero.pdfbox.api;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable set of pages held as intervals, pages are streamed on demand without creating an
+ * array with all of them.
+ * <p>
+ * Expressions are comma-separated lists of:
+ * <ul>
+ *     <li>{@code n}: a single page, counting from 1</li>
+ *     <li>{@code n-m}: pages from n to m, both included</li>
+ *     <li>{@code n-end}: pages from n to the last page of the document</li>
+ *     <li>{@code odd} or {@code even}: odd or even pages of the document</li>
+ * </ul>
+ * For example: "1-100,200,300-end,odd". Pages are returned in the order of the expression and
+ * can be repeated.
+ *
+ * @author abelsromero
+ */
+public class PageRanges {
+
+    private static final int END = -1;
+    private static final int INITIAL_CAPACITY = 4;
+
+    // interval i goes from 'from[i]' to 'to[i]' every 'step[i]' pages
+    private int[] from;
+    private int[] to;
+    private int[] step;
+    private int size = 0;
+
+    private PageRanges(int capacity) {
+        this.from = new int[capacity];
+        this.to = new int[capacity];
+        this.step = new int[capacity];
+    }
+
+    /**
+     * @param expression ranges expression, e.g. "1-100,200,300-end,odd"
+     */
+    public static PageRanges parse(String expression) {
+        if (expression == null || expression.isBlank())
+            throw new IllegalArgumentException(String.format("Invalid page range: %s", expression));
+
+        final PageRanges ranges = new PageRanges(INITIAL_CAPACITY);
+        for (String token : expression.split(",", -1)) {
+            final String item = token.trim().toLowerCase(Locale.ROOT);
+            if (item.equals("odd")) {
+                ranges.add(1, END, 2);
+            } else if (item.equals("even")) {
+                ranges.add(2, END, 2);
+            } else {
+                final int separator = item.indexOf('-');
+                if (separator < 0) {
+                    final int page = parsePage(item, token);
+                    ranges.add(page, page, 1);
+                } else {
+                    final int first = parsePage(item.substring(0, separator).trim(), token);
+                    final String last = item.substring(separator + 1).trim();
+                    final int lastPage = last.equals("end") ? END : parsePage(last, token);
+                    if (lastPage != END && lastPage < first)
+                        throw new IllegalArgumentException(String.format("Invalid page range: %s", token));
+                    ranges.add(first, lastPage, 1);
+                }
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Creates a selection with the given pages, consecutive pages are held as a single interval.
+     */
+    public static PageRanges of(int... pages) {
+        final PageRanges ranges = new PageRanges(Math.max(pages.length, 1));
+        for (int page : pages) {
+            final int last = ranges.size - 1;
+            if (last >= 0 && page > 1 && ranges.step[last] == 1 && ranges.to[last] == page - 1) {
+                ranges.to[last] = page;
+            } else {
+                ranges.add(page, page, 1);
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns the selected pages of a document with {@code pagesCount} pages, counting from 1.
+     *
+     * @throws IllegalArgumentException if a page is outside the document
+     */
+    public IntStream stream(int pagesCount) {
+        validate(pagesCount);
+        return IntStream.range(0, size)
+            .flatMap(i -> {
+                final int last = lastPage(i, pagesCount);
+                return step[i] == 1
+                    ? IntStream.rangeClosed(from[i], last)
+                    : IntStream.iterate(from[i], page -> page <= last, page -> page + step[i]);
+            });
+    }
+
+    /**
+     * Returns the number of selected pages in a document with {@code pagesCount} pages.
+     */
+    public int count(int pagesCount) {
+        validate(pagesCount);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += intervalCount(i, pagesCount);
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if pages are selected in strictly ascending order, with no repetitions.
+     */
+    public boolean isAscending(int pagesCount) {
+        validate(pagesCount);
+        int previous = 0;
+        for (int i = 0; i < size; i++) {
+            final int count = intervalCount(i, pagesCount);
+            if (count == 0)
+                continue;
+            if (from[i] <= previous)
+                return false;
+            previous = from[i] + (count - 1) * step[i];
+        }
+        return true;
+    }
+
+    private void add(int first, int last, int increment) {
+        if (size == from.length) {
+            final int capacity = size * 2;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            step = Arrays.copyOf(step, capacity);
+        }
+        from[size] = first;
+        to[size] = last;
+        step[size] = increment;
+        size++;
+    }
+
+    /**
+     * Explicit pages must exist, 'odd' and 'even' are empty when the document has not enough pages.
+     */
+    private void validate(int pagesCount) {
+        for (int i = 0; i < size; i++) {
+            if (step[i] != 1)
+                continue;
+            if (from[i] <= 0 || from[i] > pagesCount)
+                throw new IllegalArgumentException(String.format("Invalid page index: %s", from[i]));
+            if (to[i] > pagesCount)
+                throw new IllegalArgumentException(String.format("Invalid page index: %s", to[i]));
+        }
+    }
+
+    private int lastPage(int interval, int pagesCount) {
+        return to[interval] == END ? pagesCount : to[interval];
+    }
+
+    private int intervalCount(int interval, int pagesCount) {
+        final int last = lastPage(interval, pagesCount);
+        return last < from[interval] ? 0 : (last - from[interval]) / step[interval] + 1;
+    }
+
+    private static int parsePage(String value, String token) {
+        if (value.isEmpty() || !value.chars().allMatch(Character::isDigit))
+            throw new IllegalArgumentException(String.format("Invalid page range: %s", token));
+        try {
+            final int page = Integer.parseInt(value);
+            if (page <= 0)
+                throw new IllegalArgumentException(String.format("Invalid page range: %s", token));
+            return page;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid page range: %s", token), e);
+        }
+    }
+}
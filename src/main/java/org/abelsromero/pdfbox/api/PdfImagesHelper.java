@@ -1,16 +1,21 @@
 package org.abelsromero.pdfbox.api;
 
+import org.abelsromero.pdfbox.api.internal.ImageCache;
 import org.abelsromero.pdfbox.api.internal.ImageExtractor;
+import org.abelsromero.pdfbox.api.internal.OperatorWriter;
+import org.abelsromero.pdfbox.api.internal.ParallelImageExtractor;
+import org.abelsromero.pdfbox.api.internal.RenderedImageIterator;
 import org.abelsromero.pdfbox.ex.PdfProcessingException;
+import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
-import org.apache.pdfbox.multipdf.Overlay;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSUpdateInfo;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.graphics.PDXObject;
 import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
@@ -22,27 +27,41 @@ import java.awt.image.RenderedImage;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.NumberFormat;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.abelsromero.pdfbox.ex.PdfProcessingException.wrap;
 
 /**
  * Provides the tools to add images to preexisting PDF.
+ * <p>
+ * Helpers keep the document open, and files loaded with the default {@link LoadingPolicy#tempFileOnly()}
+ * keep a temporary file too, so they should be used in a try-with-resources:
+ * <pre>{@code
+ * try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(pdf)) {
+ *     helper.stampImage(image, 1, 10, 10, null)
+ *         .writeTo(output);
+ * }
+ * }</pre>
  *
  * @author abelsromero
  */
-public class PdfImagesHelper {
+public class PdfImagesHelper implements Closeable {
 
-    private static final String SAVE_GRAPHICS_STATE = "q\n";
-    private static final String RESTORE_GRAPHICS_STATE = "Q\n";
-    private static final String CONCATENATE_MATRIX = "cm\n";
-    private static final String XOBJECT_DO = "Do\n";
-    private static final String SPACE = " ";
-
-    private static final NumberFormat formatDecimal = NumberFormat.getNumberInstance(Locale.US);
+    private static final int DEFAULT_IMAGE_CACHE_SIZE = 32;
 
     private PDDocument pdfDocument;
+    // Incremental save requires the original bytes, so it is only possible for loaded documents
+    private boolean loaded = false;
+    // Parallel extraction reloads the document, from the original file when there are no changes
+    private Path source;
+    private boolean modified = false;
+    private LoadingPolicy loadingPolicy = LoadingPolicy.mainMemoryOnly();
+    // Images already embedded, created on first use
+    private ImageCache imageCache;
+    private int imageCacheSize = DEFAULT_IMAGE_CACHE_SIZE;
 
     /**
      * Private constructor to prevent instantiation
@@ -54,9 +73,25 @@ public class PdfImagesHelper {
     /**
      * Private constructor to prevent instantiation
      */
-    private PdfImagesHelper(InputStream pdf) {
+    private PdfImagesHelper(InputStream pdf, LoadingPolicy loadingPolicy) {
+        try {
+            pdfDocument = loadingPolicy.load(pdf);
+            this.loadingPolicy = loadingPolicy;
+            loaded = true;
+        } catch (IOException e) {
+            wrap(e);
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation
+     */
+    private PdfImagesHelper(Path pdf, LoadingPolicy loadingPolicy) {
         try {
-            pdfDocument = PDDocument.load(pdf);
+            pdfDocument = loadingPolicy.load(pdf);
+            this.loadingPolicy = loadingPolicy;
+            source = pdf;
+            loaded = true;
         } catch (IOException e) {
             wrap(e);
         }
@@ -70,76 +105,128 @@ public class PdfImagesHelper {
      * @param text  (Nullable) text to add to the image as a note
      */
     public PdfImagesHelper stampImage(final File image, final int page, final float x, final float y, final String text) {
+        return stampImages(List.of(Stamp.of(image, page, x, y).withNote(text)));
+    }
 
-        if (page <= 0) throw new IndexOutOfBoundsException("page must be greater or equal to 1");
+    /**
+     * Stamps several images in a single pass. All stamps are validated before modifying the document.
+     * <p>
+     * Stamps of the same image share the embedded image and the appearance stream.
+     *
+     * @param stamps images and positions to stamp
+     */
+    public PdfImagesHelper stampImages(final List<Stamp> stamps) {
 
-        PDPage pdPage = pdfDocument.getPage(page - 1);
-        List<PDAnnotation> annotations = null;
-        try {
-            annotations = pdPage.getAnnotations();
-        } catch (IOException e) {
-            wrap(e);
+        final int pagesCount = pdfDocument.getNumberOfPages();
+        for (Stamp stamp : stamps) {
+            if (stamp.getPage() <= 0) throw new IndexOutOfBoundsException("page must be greater or equal to 1");
+            if (stamp.getPage() > pagesCount)
+                throw new IndexOutOfBoundsException("page " + stamp.getPage() + " greater than pages count " + pagesCount);
         }
-        PDAnnotationRubberStamp rubberStamp = new PDAnnotationRubberStamp();
-        rubberStamp.setName(PDAnnotationRubberStamp.NAME_APPROVED);
-        if (text != null && text.length() > 0) {
-            rubberStamp.setRectangle(new PDRectangle(200, 100));
-            rubberStamp.setContents(text);
+
+        // Group by page to fetch each page and its annotations once
+        final Map<Integer, List<Stamp>> stampsByPage = new TreeMap<>();
+        for (Stamp stamp : stamps) {
+            stampsByPage.computeIfAbsent(stamp.getPage(), k -> new ArrayList<>()).add(stamp);
         }
 
-        // createEmptyPdf a PDXObjectImage with the given image file
-        // if you already have the image in a BufferedImage,
-        // call LosslessFactory.createFromImage() instead
-        PDImageXObject ximage = null;
         try {
-            ximage = PDImageXObject.createFromFileByContent(image, pdfDocument);
+            final Map<Stamp, PDImageXObject> images = new IdentityHashMap<>();
+            for (Map.Entry<Integer, List<Stamp>> pageStamps : stampsByPage.entrySet()) {
+                final PDPage pdPage = pdfDocument.getPage(pageStamps.getKey() - 1);
+                for (Stamp stamp : pageStamps.getValue()) {
+                    final PDImageXObject ximage = loadImage(stamp.getImage());
+                    assertPositionAndSize(stamp.getX(), stamp.getY(), ximage, pdPage);
+                    images.put(stamp, ximage);
+                }
+            }
+
+            final Map<PDImageXObject, PDAppearanceDictionary> appearances = new IdentityHashMap<>();
+            for (Map.Entry<Integer, List<Stamp>> pageStamps : stampsByPage.entrySet()) {
+                final PDPage pdPage = pdfDocument.getPage(pageStamps.getKey() - 1);
+                final PDRectangle pageArea = pdPage.getCropBox();
+                final List<PDAnnotation> annotations = pdPage.getAnnotations();
+
+                for (Stamp stamp : pageStamps.getValue()) {
+                    final PDImageXObject ximage = images.get(stamp);
+                    PDAppearanceDictionary appearance = appearances.get(ximage);
+                    if (appearance == null) {
+                        appearance = createAppearance(ximage);
+                        appearances.put(ximage, appearance);
+                    }
+
+                    PDAnnotationRubberStamp rubberStamp = new PDAnnotationRubberStamp();
+                    rubberStamp.setName(PDAnnotationRubberStamp.NAME_APPROVED);
+                    if (stamp.getText() != null && stamp.getText().length() > 0) {
+                        rubberStamp.setContents(stamp.getText());
+                    }
+                    rubberStamp.setAppearance(appearance);
+
+                    // Most cases lower x & y is 0, but better safe than sorry
+                    final float lowerLeftX = stamp.getX() + pageArea.getLowerLeftX();
+                    final float lowerLeftY = stamp.getY() + pageArea.getLowerLeftY();
+                    rubberStamp.setRectangle(new PDRectangle(lowerLeftX, lowerLeftY, ximage.getWidth(), ximage.getHeight()));
+
+                    // add the new RubberStamp to the document
+                    annotations.add(rubberStamp);
+                    rubberStamp.getCOSObject().setNeedToBeUpdated(true);
+                }
+                markAsUpdated(pdPage);
+            }
         } catch (IOException e) {
             wrap(e);
         }
+        return this;
+    }
 
-        PDRectangle pageArea = pdPage.getCropBox();
-        assertPositionAndSize(x, y, ximage, pdPage);
-
-        // define and set the target rectangle
-        int formWidth = ximage.getWidth();
-        int formHeight = ximage.getHeight();
-        int imgWidth = ximage.getWidth();
-        int imgHeight = ximage.getHeight();
-
-        PDRectangle rect = new PDRectangle();
-        // Most cases lower x & y is 0, but better safe than sorry
-        rect.setLowerLeftX(x + pageArea.getLowerLeftX());
-        rect.setLowerLeftY(y + pageArea.getLowerLeftY());
-        rect.setUpperRightX(x + formWidth);
-        rect.setUpperRightY(y + formHeight);
+    /**
+     * Creates an appearance drawing the image at its original size. The form's BBox is
+     * mapped to the rectangle of each annotation, so it can be shared between stamps.
+     */
+    private PDAppearanceDictionary createAppearance(PDImageXObject ximage) throws IOException {
+        final int imgWidth = ximage.getWidth();
+        final int imgHeight = ximage.getHeight();
 
         // Create a PDFormXObject
         PDFormXObject form = new PDFormXObject(pdfDocument);
         form.setResources(new PDResources());
-        form.setBBox(rect);
+        form.setBBox(new PDRectangle(imgWidth, imgHeight));
         form.setFormType(1);
 
-        // adjust the image to the target rectangle and add it to the stream
-        try {
-            OutputStream os = form.getStream().createOutputStream();
-            drawXObject(ximage, form.getResources(), os, x, y, imgWidth, imgHeight);
-            os.close();
-        } catch (IOException e) {
-            wrap(e);
+        // adjust the image to the form and add it to the stream
+        try (OperatorWriter writer = new OperatorWriter(form.getStream().createOutputStream())) {
+            drawXObject(ximage, form.getResources(), writer, 0, 0, imgWidth, imgHeight);
         }
 
         PDAppearanceStream myDic = new PDAppearanceStream(form.getCOSObject());
         PDAppearanceDictionary appearance = new PDAppearanceDictionary(new COSDictionary());
         appearance.setNormalAppearance(myDic);
-        rubberStamp.setAppearance(appearance);
-        rubberStamp.setRectangle(rect);
+        return appearance;
+    }
 
-        // add the new RubberStamp to the document
-        annotations.add(rubberStamp);
+    /**
+     * Sets the maximum number of images kept embedded for reuse (default 32).
+     * Drawing the same image again reuses the embedded one instead of decoding and embedding it.
+     */
+    public PdfImagesHelper imageCacheSize(int size) {
+        this.imageCache = new ImageCache(pdfDocument, size);
+        this.imageCacheSize = size;
+        return this;
+    }
 
+    /**
+     * Releases the images kept for reuse, useful for long-lived helpers.
+     */
+    public PdfImagesHelper clearImageCache() {
+        if (imageCache != null) imageCache.clear();
         return this;
     }
 
+    private PDImageXObject loadImage(File image) throws IOException {
+        if (imageCache == null) imageCache = new ImageCache(pdfDocument, imageCacheSize);
+        return imageCache.get(image);
+    }
+
     /**
      * Quick method to validate position and size.
      */
@@ -158,43 +245,19 @@ public class PdfImagesHelper {
     }
 
     // https://svn.apache.org/repos/asf/pdfbox/trunk/examples/src/main/java/org/apache/pdfbox/examples/pdmodel/RubberStampWithImage.java
-    private void drawXObject(PDImageXObject xobject, PDResources resources, OutputStream os,
+    private void drawXObject(PDImageXObject xobject, PDResources resources, OperatorWriter writer,
                              float x, float y, float width, float height) throws IOException {
         // This is similar to PDPageContentStream.drawXObject()
         COSName xObjectId = resources.add(xobject);
 
-        appendRawCommands(os, SAVE_GRAPHICS_STATE);
-        appendRawCommands(os, formatDecimal.format(width));
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, formatDecimal.format(0));
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, formatDecimal.format(0));
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, formatDecimal.format(height));
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, formatDecimal.format(x));
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, formatDecimal.format(y));
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, CONCATENATE_MATRIX);
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, "/");
-        appendRawCommands(os, xObjectId.getName());
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, XOBJECT_DO);
-        appendRawCommands(os, SPACE);
-        appendRawCommands(os, RESTORE_GRAPHICS_STATE);
-    }
-
-    private void appendRawCommands(OutputStream os, String commands) throws IOException {
-        os.write(commands.getBytes("ISO-8859-1"));
+        writer.saveGraphicsState()
+            .concatenate(width, 0, 0, height, x, y)
+            .drawXObject(xObjectId)
+            .restoreGraphicsState();
     }
 
     /**
      * Adds a fixed transparent layer with an image on top of the selected page.
-     * <p>
-     * NOTE: Due to technical limitations, this operation has a relative impact in memory consumption.
-     * NOTE: using addPage disables this.
      *
      * @param image     file to the image
      * @param page      page to insert, counting from 1
@@ -203,58 +266,56 @@ public class PdfImagesHelper {
      * @param boxHeight height to scale the image to
      */
     public PdfImagesHelper overlayImage(final File image, final int page, final int x, final int y, final float boxHeight) {
+        return overlayImage(image, List.of(page), x, y, boxHeight);
+    }
 
-        if (page <= 0) throw new IndexOutOfBoundsException("page must be greater or equal to 1");
+    /**
+     * Adds a fixed transparent layer with an image on top of the selected pages.
+     * <p>
+     * The image is drawn by a single form XObject shared by all pages.
+     *
+     * @param image     file to the image
+     * @param pages     pages to insert, counting from 1
+     * @param x         relative position from the lower left corner of the page
+     * @param y         relative position from the lower left corner of the page
+     * @param boxHeight height to scale the image to
+     */
+    public PdfImagesHelper overlayImage(final File image, final Collection<Integer> pages, final int x, final int y, final float boxHeight) {
 
-        // Load image only to assert size
-        PDImageXObject ximage = null;
-        try {
-            ximage = PDImageXObject.createFromFileByContent(image, pdfDocument);
-        } catch (IOException e) {
-            wrap(e);
+        final int pagesCount = pdfDocument.getNumberOfPages();
+        for (int page : pages) {
+            if (page <= 0) throw new IndexOutOfBoundsException("page must be greater or equal to 1");
+            if (page > pagesCount)
+                throw new IndexOutOfBoundsException("page " + page + " greater than pages count " + pagesCount);
         }
-        PDPage pdPage = pdfDocument.getPage(page - 1);
-        assertPositionAndSize(x, y, ximage, pdPage);
 
-        // Create temporal 1-page PDF in memory
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
-
-        // Calculate scale factor
-        float imageHeight = ximage.getHeight();
-        float scale = boxHeight / imageHeight;
-
-        // FIX ME only overlay on first page works.
-        // Need to try to generate a full pdf with empty pages to select a page
-        // Creating only previous pages does not work. Maybe add the rest of pages behing?
-        PdfImagesHelper ih = Builder.createEmptyPdf();
-        ih.addPage();
-        ih.replaceWithImage(image, 1, x, y, scale).writeTo(os);
-
-        Path temp = null;
         try {
-            temp = Files.createTempFile("pdf-overlay-", ".pdf");
-            Files.write(temp, os.toByteArray());
-        } catch (IOException e) {
-            wrap(e);
-        }
-
-        Map<Integer, String> overlayGuide = new HashMap<Integer, String>();
-        //overlayGuide.put(1, temp.getAbsolutePath());
+            PDImageXObject ximage = loadImage(image);
+            for (int page : pages) {
+                assertPositionAndSize(x, y, ximage, pdfDocument.getPage(page - 1));
+            }
 
-        final String tempAbsolutePath = temp.toAbsolutePath().toString();
-        for (int i = 0; i < pdfDocument.getNumberOfPages(); i++) {
-            overlayGuide.put(i, tempAbsolutePath);
-            //watermark.pdf is the document which is a one page PDF with your watermark image in it.
-            //Notice here, you can skip pages from being watermarked.
-        }
+            // Calculate scale factor
+            float scale = boxHeight / ximage.getHeight();
+            float width = ximage.getWidth() * scale;
+            float height = ximage.getHeight() * scale;
+
+            PDFormXObject form = new PDFormXObject(pdfDocument);
+            form.setResources(new PDResources());
+            form.setBBox(new PDRectangle(x, y, width, height));
+            form.setFormType(1);
+            try (OperatorWriter writer = new OperatorWriter(form.getStream().createOutputStream())) {
+                drawXObject(ximage, form.getResources(), writer, x, y, width, height);
+            }
 
-        Overlay overlay = new Overlay();
-        overlay.setInputPDF(pdfDocument);
-        overlay.setOverlayPosition(Overlay.Position.FOREGROUND);
-        try {
-            overlay.setFirstPageOverlayFile(tempAbsolutePath);
-            // overlay method needs to ve invoked
-            overlay.overlay(new HashMap<>());
+            for (int page : new TreeSet<>(pages)) {
+                PDPage pdPage = pdfDocument.getPage(page - 1);
+                // Appended in foreground, resetting the graphics state left by the original content
+                try (PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, pdPage, PDPageContentStream.AppendMode.APPEND, true, true)) {
+                    contentStream.drawForm(form);
+                }
+                markAsUpdated(pdPage);
+            }
         } catch (IOException e) {
             wrap(e);
         }
@@ -288,20 +349,13 @@ public class PdfImagesHelper {
 
         PDPage pdPage = pdfDocument.getPage(page - 1);
         try {
-            PDImageXObject pdImage = PDImageXObject.createFromFileByContent(image, pdfDocument);
-
-            // Load image only to assert size
-            PDImageXObject ximage = null;
-            try {
-                ximage = PDImageXObject.createFromFileByContent(image, pdfDocument);
-            } catch (IOException e) {
-                wrap(e);
-            }
-            assertPositionAndSize(x, y, ximage, pdPage);
+            PDImageXObject pdImage = loadImage(image);
+            assertPositionAndSize(x, y, pdImage, pdPage);
 
             PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, pdPage);
             contentStream.drawImage(pdImage, x, y, pdImage.getWidth() * scale, pdImage.getHeight() * scale);
             contentStream.close();
+            markAsUpdated(pdPage);
         } catch (IOException e) {
             wrap(e);
         }
@@ -309,38 +363,78 @@ public class PdfImagesHelper {
     }
 
     /**
-     * Writes all images to a directory following the pattern: basename-{pageNum}-{counter}.{extension}
+     * Returns the information of each time an image is drawn in the PDF, in page order.
+     * Only content streams and image dictionaries are read, images are not decoded nor written.
      */
+    public List<Image> listImages() {
+        return new ImageExtractor(pdfDocument).process().getImages();
+    }
 
+    /**
+     * Writes all images to a directory following the pattern: basename-{pageNum}-{counter}.{extension}
+     * where counter restarts in each page.
+     */
     public List<Image> writeImagesToDir(File path, String basename) throws IOException {
+        return writeImagesToDir(path, basename, ExtractionOptions.with());
+    }
 
-        ImageExtractor ie = new ImageExtractor(pdfDocument, path, basename);
-        return ie.process().getImages();
+    /**
+     * Writes all images to a directory following the pattern: basename-{pageNum}-{counter}.{extension}
+     * where counter restarts in each page.
+     * <p>
+     * In parallel mode, images are returned in the same order as in sequential mode.
+     * Documents created or modified are saved to a temporary file, so that each worker can load them.
+     */
+    public List<Image> writeImagesToDir(File path, String basename, ExtractionOptions options) throws IOException {
+        final int pagesCount = pdfDocument.getNumberOfPages();
+        if (options.getWorkers() == 1 || pagesCount < 2) {
+            ImageExtractor ie = new ImageExtractor(pdfDocument, path, basename, options, null);
+            return ie.process().getImages();
+        }
+
+        if (source != null && !modified) {
+            return new ParallelImageExtractor(source, loadingPolicy, path, basename, options)
+                .process(pagesCount);
+        }
+        final Path snapshot = Files.createTempFile("pdf-images-helper-", ".pdf");
+        try {
+            pdfDocument.save(snapshot.toFile());
+            return new ParallelImageExtractor(snapshot, loadingPolicy, path, basename, options)
+                .process(pagesCount);
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
     }
 
     /**
-     * Returns the {@link RenderedImage} representing the images in the PDF
+     * Returns the {@link RenderedImage} representing the images in the PDF.
+     * Images shared by several pages or forms are returned once.
+     * <p>
+     * All images are decoded before returning, see {@link #streamRenderedImages()} to process them one by one.
      */
     public List<RenderedImage> getRenderedImages() throws IOException {
-        List<RenderedImage> images = new ArrayList<>();
-        for (PDPage page : pdfDocument.getPages()) {
-            images.addAll(getImagesFromResources(page.getResources()));
+        try (Stream<RenderedImage> images = streamRenderedImages()) {
+            return images.collect(Collectors.toList());
+        } catch (PdfProcessingException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw e;
         }
-        return images;
     }
 
-    private List<RenderedImage> getImagesFromResources(PDResources resources) throws IOException {
-
-        List<RenderedImage> images = new ArrayList<>();
-        for (COSName xObjectName : resources.getXObjectNames()) {
-            PDXObject xObject = resources.getXObject(xObjectName);
-            if (xObject instanceof PDImageXObject) {
-                images.add(((PDImageXObject) xObject).getImage());
-            } else if (xObject instanceof PDFormXObject) {
-                images.addAll(getImagesFromResources(((PDFormXObject) xObject).getResources()));
-            }
-        }
-        return images;
+    /**
+     * Returns the images in the PDF as a lazy stream, each image is decoded when the stream reaches it,
+     * so only the images retained by the consumer are kept in memory.
+     * Images shared by several pages or forms are returned once.
+     * <p>
+     * The stream reads the document, so it must be consumed in a single thread before the PDF is modified,
+     * and should be closed if not fully consumed.
+     * Decoding errors are thrown as {@link PdfProcessingException}.
+     */
+    public Stream<RenderedImage> streamRenderedImages() {
+        final RenderedImageIterator iterator = new RenderedImageIterator(pdfDocument);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(iterator::close);
     }
 
     /**
@@ -370,13 +464,96 @@ public class PdfImagesHelper {
     }
 
     /**
-     * Adds a black page to the PDF.
+     * Saves only the changes to a File, appending them to the original document (incremental update).
      * <p>
-     * NOTE: using it disables overlayImage
+     * Original bytes are kept, so existing signatures remain valid and save time depends on the size of the changes.
+     * Only available for loaded documents, and target cannot be the original file.
+     *
+     * @param file target file
+     */
+    public void writeIncrementalTo(File file) {
+        // fail before the target is truncated
+        assertIncrementalSaveAvailable();
+        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            writeIncrementalTo(outputStream);
+        } catch (IOException e) {
+            wrap(e);
+        }
+    }
+
+    /**
+     * Saves only the changes to an output stream, appending them to the original document (incremental update).
+     *
+     * @param outputStream target output stream
+     * @see #writeIncrementalTo(File)
+     */
+    public void writeIncrementalTo(OutputStream outputStream) {
+        assertIncrementalSaveAvailable();
+        try {
+            pdfDocument.saveIncremental(outputStream);
+        } catch (IOException e) {
+            wrap(e);
+        }
+    }
+
+    /**
+     * Closes the document and removes its temporary files, the helper cannot be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        clearImageCache();
+        pdfDocument.close();
+    }
+
+    private void assertIncrementalSaveAvailable() {
+        if (!loaded)
+            throw new PdfProcessingException("Incremental save is only available for loaded documents");
+    }
+
+    /**
+     * Flags the page, its ancestors and the objects content streams modify, so that they are written in
+     * incremental saves. New objects are always written.
+     */
+    private void markAsUpdated(PDPage page) {
+        modified = true;
+        COSDictionary dictionary = page.getCOSObject();
+        while (dictionary != null) {
+            dictionary.setNeedToBeUpdated(true);
+            final COSBase parent = dictionary.getDictionaryObject(COSName.PARENT);
+            dictionary = parent instanceof COSDictionary ? (COSDictionary) parent : null;
+        }
+        markAsUpdated(page.getCOSObject().getDictionaryObject(COSName.ANNOTS));
+        // appending to a page turns its contents into an array, or adds to the existing one
+        markAsUpdated(page.getCOSObject().getDictionaryObject(COSName.CONTENTS));
+
+        // resources may be inherited, and new names are added to their subdictionaries (e.g. /XObject, /ExtGState)
+        final PDResources resources = page.getResources();
+        if (resources != null) {
+            final COSDictionary resourcesDictionary = resources.getCOSObject();
+            resourcesDictionary.setNeedToBeUpdated(true);
+            for (COSName key : resourcesDictionary.keySet()) {
+                markAsUpdated(resourcesDictionary.getDictionaryObject(key));
+            }
+        }
+        pdfDocument.getDocumentCatalog().getCOSObject().setNeedToBeUpdated(true);
+    }
+
+    /**
+     * Flags dictionaries and arrays, streams are left out so that their data is not written again.
+     */
+    private static void markAsUpdated(COSBase object) {
+        if (object instanceof COSUpdateInfo && !(object instanceof COSStream)) {
+            ((COSUpdateInfo) object).setNeedToBeUpdated(true);
+        }
+    }
+
+    /**
+     * Adds a black page to the PDF.
      */
     public PdfImagesHelper addPage() {
         PDPage page = new PDPage();
         pdfDocument.getPages().add(page);
+        markAsUpdated(page);
         return this;
     }
 
@@ -393,22 +570,58 @@ public class PdfImagesHelper {
          * Builder method
          */
         public static PdfImagesHelper loadPdf(InputStream pdf) {
-            return new PdfImagesHelper(pdf);
+            return loadPdf(pdf, LoadingPolicy.mainMemoryOnly());
         }
 
         /**
          * Builder method
          *
+         * @param pdf           PDF input stream
+         * @param loadingPolicy where to buffer the document
+         */
+        public static PdfImagesHelper loadPdf(InputStream pdf, LoadingPolicy loadingPolicy) {
+            return new PdfImagesHelper(pdf, loadingPolicy);
+        }
+
+        /**
+         * Builder method, same as {@link #loadPdf(Path)}.
+         *
          * @param pdf PDF file
          */
         public static PdfImagesHelper loadPdf(File pdf) {
-            try {
-                return new PdfImagesHelper(new FileInputStream(pdf));
-            } catch (IOException e) {
-                wrap(e);
-            }
-            // don't bother explaining...because Java
-            return null;
+            return loadPdf(pdf.toPath());
+        }
+
+        /**
+         * Builder method
+         *
+         * @param pdf           PDF file
+         * @param loadingPolicy where to buffer the document
+         */
+        public static PdfImagesHelper loadPdf(File pdf, LoadingPolicy loadingPolicy) {
+            return loadPdf(pdf.toPath(), loadingPolicy);
+        }
+
+        /**
+         * Builder method. The file is read through a random-access reader instead of a stream, while
+         * stream data is buffered in temporary files ({@link LoadingPolicy#tempFileOnly()}) to keep large
+         * documents out of the heap. Files are kept until the helper is closed.
+         *
+         * @param pdf PDF file
+         */
+        public static PdfImagesHelper loadPdf(Path pdf) {
+            return loadPdf(pdf, LoadingPolicy.tempFileOnly());
+        }
+
+        /**
+         * Builder method. The file is read through a random-access reader instead of a stream.
+         * Note PDFBox still parses all objects and copies stream data, {@code loadingPolicy} decides where.
+         *
+         * @param pdf           PDF file
+         * @param loadingPolicy where to buffer the document
+         */
+        public static PdfImagesHelper loadPdf(Path pdf, LoadingPolicy loadingPolicy) {
+            return new PdfImagesHelper(pdf, loadingPolicy);
         }
     }
 
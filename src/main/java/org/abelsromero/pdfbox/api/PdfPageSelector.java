@@ -1,6 +1,5 @@
 package org.abelsromero.pdfbox.api;
 
-import org.abelsromero.pdfbox.api.streams.PagesCollector;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.*;
 import org.apache.pdfbox.pdmodel.font.PDFont;
@@ -11,7 +10,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import static org.abelsromero.pdfbox.ex.PdfProcessingException.wrap;
@@ -24,8 +22,9 @@ import static org.abelsromero.pdfbox.ex.PdfProcessingException.wrap;
 public class PdfPageSelector {
 
     private File sourceFile;
-    private int[] pages;
+    private PageRanges pages;
     private SelectorOptions options = SelectorOptions.CREATE_NEW;
+    private LoadingPolicy loadingPolicy = LoadingPolicy.mainMemoryOnly();
 
     private PdfPageSelector() {
     }
@@ -40,7 +39,20 @@ public class PdfPageSelector {
     }
 
     public PdfPageSelector pages(int... pages) {
-        this.pages = pages;
+        this.pages = PageRanges.of(pages);
+        return this;
+    }
+
+    /**
+     * @param ranges pages expression, e.g. "1-100,200,300-end,odd", see {@link PageRanges}
+     */
+    public PdfPageSelector pages(String ranges) {
+        this.pages = PageRanges.parse(ranges);
+        return this;
+    }
+
+    public PdfPageSelector pages(PageRanges ranges) {
+        this.pages = ranges;
         return this;
     }
 
@@ -49,53 +61,33 @@ public class PdfPageSelector {
         return this;
     }
 
+    public PdfPageSelector loadingPolicy(LoadingPolicy loadingPolicy) {
+        this.loadingPolicy = loadingPolicy;
+        return this;
+    }
+
     public void writeTo(final File outputFile) {
-        try {
-            selectPages()
-                .save(outputFile);
+        try (SelectorSession session = openSession()) {
+            session.writeTo(outputFile, pages);
         } catch (IOException e) {
             wrap(e);
         }
     }
 
     public void writeTo(final OutputStream outputStream) {
-        try {
-            selectPages()
-                .save(outputStream);
+        try (SelectorSession session = openSession()) {
+            session.writeTo(outputStream, pages);
         } catch (IOException e) {
             wrap(e);
         }
     }
 
-    private PDDocument selectPages() throws IOException {
-
-        final PDDocument document = PDDocument.load(sourceFile);
-
-        int pagesCount = document.getNumberOfPages();
-        for (int pageIndex : pages) {
-            if (pageIndex <= 0 || pageIndex > pagesCount)
-                throw new IllegalArgumentException(String.format("Invalid page index: %s", pageIndex));
-        }
-
-        final PDPageTree documentPages = document.getPages();
-        final PDDocument output = Arrays.stream(pages)
-            .map(i -> i - 1)
-            .mapToObj(documentPages::get)
-            .collect(new PagesCollector());
-
-        // Copy catalog properties for PDF/A compliance
-
-        final PDDocumentCatalog catalog = document.getDocumentCatalog();
-        final PDDocumentCatalog outputCatalog = output.getDocumentCatalog();
-        if (options.isCopyMetadataEnabled()) {
-            outputCatalog.setMetadata(catalog.getMetadata());
-        }
-        if (options.isCopyIntentsEnabled()) {
-            catalog.getOutputIntents()
-                .forEach(outputCatalog::addOutputIntent);
-        }
-
-        return output;
+    /**
+     * Parses the source file and keeps it open to run several selections, see {@link SelectorSession}.
+     * Options and loading policy are taken from this builder, pages are set on each selection.
+     */
+    public SelectorSession openSession() throws IOException {
+        return new SelectorSession(sourceFile, options, loadingPolicy);
     }
 
     private PDOutputIntent createStandardRGBIntent(PDDocument document) throws IOException {
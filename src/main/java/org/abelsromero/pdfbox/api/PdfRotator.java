@@ -1,25 +1,54 @@
 package org.abelsromero.pdfbox.api;
 
+import org.abelsromero.pdfbox.api.internal.OperatorWriter;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.PDPageTree;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.util.Matrix;
 
 import java.awt.*;
 import java.io.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
 
 import static org.abelsromero.pdfbox.ex.PdfProcessingException.wrap;
 
 /**
- * Provides methods to rotate PDFs 90 degrees left or right.
+ * Provides methods to rotate the pages of PDFs 90 degrees left or right, or each page by its own angle
+ * with {@link #rotate(Map)}, which also accepts angles that are not multiples of 90.
+ * <p>
+ * By default the content is rotated ({@link RotationMode#CONTENT}), so the page is rotated for any consumer.
+ * {@link RotationMode#ATTRIBUTE} only sets the page /Rotate attribute, which is cheaper but only honored
+ * by viewers and printers.
+ * <p>
+ * Rotators keep the document open, and files loaded with the default {@link LoadingPolicy#tempFileOnly()}
+ * keep a temporary file too, so they should be used in a try-with-resources:
+ * <pre>{@code
+ * try (PdfRotator rotator = PdfRotator.loadPdf(pdf)) {
+ *     rotator.rotateRight()
+ *         .writeTo(output);
+ * }
+ * }</pre>
  *
  * @author abelsromero
  */
-public class PdfRotator {
+public class PdfRotator implements Closeable {
+
+    // Pages below this number are rotated in the calling thread
+    private static final int PARALLEL_THRESHOLD = 1_000;
 
     private PDDocument pdfDocument;
+    private RotationMode mode = RotationMode.CONTENT;
 
     /**
      * Private constructor to prevent instantiation
@@ -31,9 +60,9 @@ public class PdfRotator {
     /**
      * Private constructor to prevent instantiation
      */
-    private PdfRotator(InputStream pdf) {
+    private PdfRotator(Path pdf, LoadingPolicy loadingPolicy) {
         try {
-            pdfDocument = PDDocument.load(pdf);
+            pdfDocument = loadingPolicy.load(pdf);
         } catch (IOException e) {
             wrap(e);
         }
@@ -65,39 +94,190 @@ public class PdfRotator {
         }
     }
 
+    /**
+     * Closes the document and removes its temporary files, the rotator cannot be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        pdfDocument.close();
+    }
+
+    /**
+     * Rotates all pages 90 degrees clockwise.
+     */
     public PdfRotator rotateRight() throws IOException {
-        return rotate(270);
+        return rotate(page -> 90);
     }
 
+    /**
+     * Rotates all pages 90 degrees counterclockwise.
+     */
     public PdfRotator rotateLeft() throws IOException {
-        return rotate(90);
-    }
-
-    private PdfRotator rotate(int radius) throws IOException {
-        PDPageTree pages = pdfDocument.getDocumentCatalog().getPages();
-        for (PDPage page : pages) {
-            PDPageContentStream cs = new PDPageContentStream(pdfDocument, page, PDPageContentStream.AppendMode.PREPEND, false, false);
-            Matrix matrix = Matrix.getRotateInstance(Math.toRadians(radius), 0, 0);
-            cs.transform(matrix);
-
-            PDRectangle cropBox = page.getCropBox();
-            Rectangle rectangle = cropBox.transform(matrix).getBounds();
-            PDRectangle newBox = new PDRectangle((float) rectangle.getX(), (float) rectangle.getY(), (float) rectangle.getWidth(), (float) rectangle.getHeight());
-            page.setCropBox(newBox);
-            page.setMediaBox(newBox);
-            cs.close();
+        return rotate(page -> 270);
+    }
+
+    /**
+     * Sets how pages are rotated (default {@link RotationMode#CONTENT}).
+     */
+    public PdfRotator mode(RotationMode mode) {
+        this.mode = mode;
+        return this;
+    }
+
+    /**
+     * Rotates each page by its own angle, in a single pass. Pages not in the map are not modified.
+     *
+     * @param clockwiseByPage clockwise degrees by page number, counting from 1. Any angle is accepted,
+     *                        in {@link RotationMode#ATTRIBUTE} mode those that are not multiple of 90
+     *                        rotate the content
+     * @throws IllegalArgumentException  if a page or angle is null
+     * @throws IndexOutOfBoundsException if a page is not in the document
+     */
+    public PdfRotator rotate(Map<Integer, Integer> clockwiseByPage) throws IOException {
+        final int pagesCount = pdfDocument.getNumberOfPages();
+        for (Map.Entry<Integer, Integer> entry : clockwiseByPage.entrySet()) {
+            final Integer page = entry.getKey();
+            if (page == null)
+                throw new IllegalArgumentException(String.format("Invalid page: %s", page));
+            if (page <= 0) throw new IndexOutOfBoundsException("page must be greater or equal to 1");
+            if (page > pagesCount)
+                throw new IndexOutOfBoundsException("page " + page + " greater than pages count " + pagesCount);
+            if (entry.getValue() == null)
+                throw new IllegalArgumentException(String.format("Invalid angle for page %s: %s", page, entry.getValue()));
+        }
+        return rotate(page -> clockwiseByPage.getOrDefault(page, 0));
+    }
+
+    /**
+     * @param clockwiseForPage clockwise degrees for each page number
+     */
+    private PdfRotator rotate(IntUnaryOperator clockwiseForPage) throws IOException {
+        // PDFBox objects are not thread-safe: objects are resolved serially, then pages are updated in parallel
+        final List<PreparedPage> pages = new ArrayList<>();
+        final Map<Integer, Rotation> rotations = new HashMap<>();
+        int pageNumber = 0;
+        for (PDPage page : pdfDocument.getPages()) {
+            pageNumber++;
+            final int clockwise = Math.floorMod(clockwiseForPage.applyAsInt(pageNumber), 360);
+            if (clockwise == 0)
+                continue;
+            if (mode == RotationMode.ATTRIBUTE && clockwise % 90 == 0) {
+                page.setRotation(Math.floorMod(page.getRotation() + clockwise, 360));
+                continue;
+            }
+            if (!rotations.containsKey(clockwise)) {
+                rotations.put(clockwise, new Rotation(clockwise));
+            }
+            pages.add(new PreparedPage(page, rotations.get(clockwise)));
         }
+
+        final Stream<PreparedPage> stream = pages.size() < PARALLEL_THRESHOLD ? pages.stream() : pages.parallelStream();
+        stream.forEach(PreparedPage::rotate);
         return this;
     }
 
-    public static PdfRotator loadPdf(File pdf) {
-        try {
-            return new PdfRotator(new FileInputStream(pdf));
-        } catch (IOException e) {
-            wrap(e);
+    /**
+     * Content rotation for an angle, the matrix stream is immutable and shared by all pages.
+     */
+    private class Rotation {
+
+        private final Matrix matrix;
+        private final COSStream stream;
+        // rotated boxes by original box, most documents have a few page sizes
+        private final Map<List<Float>, PDRectangle> boxes = new ConcurrentHashMap<>();
+
+        Rotation(int clockwise) throws IOException {
+            // content matrix rotates counterclockwise
+            this.matrix = Matrix.getRotateInstance(Math.toRadians(360 - clockwise), 0, 0);
+            this.stream = pdfDocument.getDocument().createCOSStream();
+            try (OperatorWriter writer = new OperatorWriter(stream.createOutputStream())) {
+                writer.concatenate(matrix.getValue(0, 0), matrix.getValue(0, 1), matrix.getValue(1, 0),
+                    matrix.getValue(1, 1), matrix.getValue(2, 0), matrix.getValue(2, 1));
+            }
+        }
+
+        PDRectangle rotatedBox(PDRectangle box) {
+            final List<Float> key = List.of(box.getLowerLeftX(), box.getLowerLeftY(), box.getUpperRightX(), box.getUpperRightY());
+            return boxes.computeIfAbsent(key, k -> {
+                Rectangle rectangle = box.transform(matrix).getBounds();
+                return new PDRectangle((float) rectangle.getX(), (float) rectangle.getY(), (float) rectangle.getWidth(), (float) rectangle.getHeight());
+            });
+        }
+    }
+
+    /**
+     * Page with the attributes needed for the rotation already resolved.
+     */
+    private static class PreparedPage {
+
+        private final PDPage page;
+        private final Rotation rotation;
+        private final PDRectangle cropBox;
+        private final COSBase contents;
+
+        PreparedPage(PDPage page, Rotation rotation) {
+            this.page = page;
+            this.rotation = rotation;
+            // includes inherited values
+            this.cropBox = page.getCropBox();
+            this.contents = page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+        }
+
+        /**
+         * Only modifies the page dictionary, so pages can be rotated concurrently.
+         */
+        void rotate() {
+            final PDRectangle newBox = rotation.rotatedBox(cropBox);
+            final COSArray newContents = new COSArray();
+            newContents.add(rotation.stream);
+            if (contents instanceof COSArray) {
+                // arrays may be shared, do not modify them
+                newContents.addAll((COSArray) contents);
+            } else if (contents instanceof COSStream) {
+                newContents.add(contents);
+            }
+            page.getCOSObject().setItem(COSName.CONTENTS, newContents);
+            // each page gets its own copy of the boxes
+            page.setCropBox(new PDRectangle(newBox.getLowerLeftX(), newBox.getLowerLeftY(), newBox.getWidth(), newBox.getHeight()));
+            page.setMediaBox(new PDRectangle(newBox.getLowerLeftX(), newBox.getLowerLeftY(), newBox.getWidth(), newBox.getHeight()));
         }
-        // don't bother explaining...because Java
-        return null;
+    }
+
+    /**
+     * Same as {@link #loadPdf(Path)}.
+     */
+    public static PdfRotator loadPdf(File pdf) {
+        return loadPdf(pdf.toPath());
+    }
+
+    /**
+     * @param pdf           PDF file
+     * @param loadingPolicy where to buffer the document
+     */
+    public static PdfRotator loadPdf(File pdf, LoadingPolicy loadingPolicy) {
+        return loadPdf(pdf.toPath(), loadingPolicy);
+    }
+
+    /**
+     * The file is read through a random-access reader instead of a stream, while stream data is
+     * buffered in temporary files ({@link LoadingPolicy#tempFileOnly()}) to keep large documents out of the heap.
+     * Files are kept until the rotator is closed.
+     *
+     * @param pdf PDF file
+     */
+    public static PdfRotator loadPdf(Path pdf) {
+        return loadPdf(pdf, LoadingPolicy.tempFileOnly());
+    }
+
+    /**
+     * The file is read through a random-access reader instead of a stream.
+     * Note PDFBox still parses all objects and copies stream data, {@code loadingPolicy} decides where.
+     *
+     * @param pdf           PDF file
+     * @param loadingPolicy where to buffer the document
+     */
+    public static PdfRotator loadPdf(Path pdf, LoadingPolicy loadingPolicy) {
+        return new PdfRotator(pdf, loadingPolicy);
     }
 
 }
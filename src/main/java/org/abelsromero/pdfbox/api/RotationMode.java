@@ -0,0 +1,21 @@
+package org.abelsromero.pdfbox.api;
+
+/**
+ * How {@link PdfRotator} rotates pages.
+ *
+ * @author abelsromero
+ */
+public enum RotationMode {
+
+    /**
+     * Rotates the content and swaps the page boxes, the page is rotated for any consumer
+     * (e.g. reported size or text extraction). A single matrix stream is shared by all pages.
+     */
+    CONTENT,
+
+    /**
+     * Sets the page /Rotate attribute, viewers and printers show the page rotated.
+     * Content and boxes are not modified, so it is the cheapest mode, but only for multiples of 90 degrees.
+     */
+    ATTRIBUTE
+}
@@ -0,0 +1,162 @@
+package org.abelsromero.pdfbox.api;
+
+import org.abelsromero.pdfbox.api.streams.PagesCollector;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageTree;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import static org.abelsromero.pdfbox.ex.PdfProcessingException.wrap;
+
+/**
+ * Keeps a source document open to generate several PDFs selecting some of its pages, the
+ * source is parsed once and not on every selection.
+ * <p>
+ * Sessions can be shared between threads, but selections are run one at a time given PDFBox
+ * documents are not thread-safe. Source pages are never modified, so outputs do not depend on
+ * the order they were generated.
+ * <p>
+ * Created with {@link PdfPageSelector#openSession()}.
+ *
+ * @author abelsromero
+ */
+public class SelectorSession implements Closeable {
+
+    // Searching a page visits dozens of nodes, walking the whole tree pays off when selecting more than 1 every 32 pages
+    private static final int WALK_RATIO = 32;
+
+    private final PDDocument document;
+    private final SelectorOptions options;
+    private final LoadingPolicy loadingPolicy;
+    private boolean closed = false;
+
+    SelectorSession(File sourceFile, SelectorOptions options, LoadingPolicy loadingPolicy) throws IOException {
+        this.document = loadingPolicy.load(sourceFile);
+        this.options = options;
+        this.loadingPolicy = loadingPolicy;
+    }
+
+    /**
+     * Writes a PDF with the selected {@code pages} of the source, counting from 1.
+     */
+    public void writeTo(final File outputFile, int... pages) {
+        writeTo(outputFile, PageRanges.of(pages));
+    }
+
+    /**
+     * Writes a PDF with the selected {@code pages} of the source, counting from 1.
+     */
+    public void writeTo(final OutputStream outputStream, int... pages) {
+        writeTo(outputStream, PageRanges.of(pages));
+    }
+
+    /**
+     * Writes a PDF with the pages selected by {@code ranges}.
+     */
+    public void writeTo(final File outputFile, PageRanges ranges) {
+        try {
+            synchronized (this) {
+                try (PDDocument output = selectPages(ranges)) {
+                    output.save(outputFile);
+                }
+            }
+        } catch (IOException e) {
+            wrap(e);
+        }
+    }
+
+    /**
+     * Writes a PDF with the pages selected by {@code ranges}.
+     */
+    public void writeTo(final OutputStream outputStream, PageRanges ranges) {
+        try {
+            synchronized (this) {
+                try (PDDocument output = selectPages(ranges)) {
+                    output.save(outputStream);
+                }
+            }
+        } catch (IOException e) {
+            wrap(e);
+        }
+    }
+
+    public int getPagesCount() {
+        synchronized (this) {
+            checkOpen();
+            return document.getNumberOfPages();
+        }
+    }
+
+    /**
+     * Closes the source document, the session cannot be used afterwards.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            document.close();
+        }
+    }
+
+    private PDDocument selectPages(PageRanges ranges) throws IOException {
+        checkOpen();
+
+        // PDFBox documents are not thread-safe, so pages are copied in this thread
+        final PDDocument output = resolvePages(ranges, document.getNumberOfPages())
+            .stream()
+            .collect(new PagesCollector(loadingPolicy));
+
+        // Copy catalog properties for PDF/A compliance
+
+        final PDDocumentCatalog catalog = document.getDocumentCatalog();
+        final PDDocumentCatalog outputCatalog = output.getDocumentCatalog();
+        if (options.isCopyMetadataEnabled()) {
+            outputCatalog.setMetadata(catalog.getMetadata());
+        }
+        if (options.isCopyIntentsEnabled()) {
+            catalog.getOutputIntents()
+                .forEach(outputCatalog::addOutputIntent);
+        }
+
+        return output;
+    }
+
+    private List<PDPage> resolvePages(PageRanges ranges, int pagesCount) {
+        final PDPageTree documentPages = document.getPages();
+        final int count = ranges.count(pagesCount);
+        final List<PDPage> selectedPages = new ArrayList<>(count);
+        final PrimitiveIterator.OfInt selection = ranges.stream(pagesCount).iterator();
+
+        if (count * WALK_RATIO >= pagesCount && ranges.isAscending(pagesCount)) {
+            // Walk the tree once, instead of searching each page from the root
+            int next = selection.hasNext() ? selection.nextInt() : 0;
+            int current = 1;
+            for (PDPage page : documentPages) {
+                if (next == 0)
+                    break;
+                if (current++ == next) {
+                    selectedPages.add(page);
+                    next = selection.hasNext() ? selection.nextInt() : 0;
+                }
+            }
+        } else {
+            while (selection.hasNext()) {
+                selectedPages.add(documentPages.get(selection.nextInt() - 1));
+            }
+        }
+        return selectedPages;
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("Session is closed");
+    }
+}
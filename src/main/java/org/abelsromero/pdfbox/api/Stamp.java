@@ -0,0 +1,62 @@
+package org.abelsromero.pdfbox.api;
+
+import java.io.File;
+
+/**
+ * Describes an image to stamp on a page, see {@link PdfImagesHelper#stampImages(java.util.List)}.
+ *
+ * @author abelsromero
+ */
+public class Stamp {
+
+    private final File image;
+    private final int page;
+    private final float x;
+    private final float y;
+    private final String text;
+
+    private Stamp(File image, int page, float x, float y, String text) {
+        this.image = image;
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.text = text;
+    }
+
+    /**
+     * @param image file to the image
+     * @param page  page to insert, counting from 1
+     * @param x     horizontal position from the lower left corner of the page
+     * @param y     vertical position from the lower left corner of the page
+     */
+    public static Stamp of(File image, int page, float x, float y) {
+        return new Stamp(image, page, x, y, null);
+    }
+
+    /**
+     * @param text (Nullable) text to add to the image as a note
+     */
+    public Stamp withNote(String text) {
+        return new Stamp(image, page, x, y, text);
+    }
+
+    public File getImage() {
+        return image;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,67 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the images embedded in a document indexed by the hash of their content, so that
+ * the same image is decoded and embedded only once no matter how many times it's drawn.
+ * <p>
+ * Least recently used images are evicted when the maximum size is reached, evicted images
+ * remain in the document but will be embedded again if requested.
+ *
+ * @author abelsromero
+ */
+public class ImageCache {
+
+    private final PDDocument document;
+    private final Map<String, PDImageXObject> images;
+
+    public ImageCache(PDDocument document, int maxEntries) {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException(String.format("Invalid cache size: %s", maxEntries));
+        this.document = document;
+        this.images = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PDImageXObject> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the image embedded in the document, detecting the format by content.
+     */
+    public PDImageXObject get(File image) throws IOException {
+        final byte[] content = Files.readAllBytes(image.toPath());
+        final String key = hash(content);
+
+        PDImageXObject xobject = images.get(key);
+        if (xobject == null) {
+            xobject = PDImageXObject.createFromByteArray(document, content, image.getName());
+            images.put(key, xobject);
+        }
+        return xobject;
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    public void clear() {
+        images.clear();
+    }
+
+    private static String hash(byte[] content) {
+        final MessageDigest digest = StreamHasher.sha256();
+        digest.update(content);
+        return StreamHasher.encode(digest);
+    }
+}
@@ -0,0 +1,157 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import org.abelsromero.pdfbox.api.ExtractionOptions;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Writes decoded images to files applying the format, compression and transformations
+ * of {@link ExtractionOptions}.
+ * <p>
+ * Has no state other than the options, so it can be shared between threads.
+ *
+ * @author abelsromero
+ */
+public class ImageEncoder {
+
+    private static final String PNG = "png";
+    private static final String JPEG = "jpg";
+    private static final String TIFF = "tiff";
+    private static final String TIFF_COMPRESSION = "LZW";
+
+    private final ExtractionOptions options;
+
+    public ImageEncoder(ExtractionOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Returns the extension (and format) used to write {@code image}.
+     */
+    public String extension(PDImageXObject image) {
+        switch (options.getFormat()) {
+            case PNG:
+                return PNG;
+            case JPEG:
+                return JPEG;
+            case TIFF:
+                return TIFF;
+            default:
+                final String suffix = image.getSuffix();
+                return suffix != null && ImageIO.getImageWritersBySuffix(suffix).hasNext() ? suffix : PNG;
+        }
+    }
+
+    /**
+     * Whether an image with the original {@code suffix} can be copied without decoding it.
+     */
+    public boolean isPassthroughAllowed(String suffix) {
+        if (options.isTransformationEnabled())
+            return false;
+        switch (options.getFormat()) {
+            case ORIGINAL:
+                return true;
+            case JPEG:
+                return JPEG.equals(suffix);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Encodes the image to {@code output}, which is not closed.
+     */
+    public void write(BufferedImage image, String extension, OutputStream output) throws IOException {
+        final Iterator<ImageWriter> writers = ImageIO.getImageWritersBySuffix(extension);
+        if (!writers.hasNext())
+            throw new IOException("No image writer found for: " + extension);
+
+        final BufferedImage transformed = transform(image, extension);
+        final ImageWriter writer = writers.next();
+        // ImageIO defaults to a file cache, data is written sequentially so memory is enough
+        try (ImageOutputStream imageOutput = new MemoryCacheImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(transformed, null, null), writeParam(writer, extension));
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private ImageWriteParam writeParam(ImageWriter writer, String extension) {
+        final ImageWriteParam param = writer.getDefaultWriteParam();
+        if (!param.canWriteCompressed())
+            return param;
+
+        if (JPEG.equals(extension) && options.getQuality() >= 0) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(options.getQuality());
+        } else if (PNG.equals(extension) && options.getCompressionLevel() >= 0) {
+            // PNG writer maps quality 1 to no compression and 0 to maximum deflate level
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(1f - options.getCompressionLevel() / 9f);
+        } else if (TIFF.equals(extension) && param.getCompressionTypes() != null
+            && Arrays.asList(param.getCompressionTypes()).contains(TIFF_COMPRESSION)) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionType(TIFF_COMPRESSION);
+        }
+        return param;
+    }
+
+    /**
+     * Downscales and converts the color space in a single pass, returns the same image if nothing needs to be done.
+     */
+    private BufferedImage transform(BufferedImage image, String extension) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int maxDimension = options.getMaxDimension();
+        final double scale = maxDimension > 0 && Math.max(width, height) > maxDimension
+            ? (double) maxDimension / Math.max(width, height)
+            : 1;
+        final int targetType = targetType(image, extension, scale != 1);
+        if (scale == 1 && targetType == image.getType())
+            return image;
+
+        final int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        final int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        final BufferedImage target = new BufferedImage(targetWidth, targetHeight, targetType);
+        final Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private int targetType(BufferedImage image, String extension, boolean scaled) {
+        switch (options.getColorSpace()) {
+            case GRAY:
+                return BufferedImage.TYPE_BYTE_GRAY;
+            case RGB:
+                return BufferedImage.TYPE_INT_RGB;
+            default:
+                // JPEG does not support transparency
+                if (JPEG.equals(extension) && image.getColorModel().hasAlpha())
+                    return BufferedImage.TYPE_INT_RGB;
+                if (!scaled || image.getType() == BufferedImage.TYPE_BYTE_GRAY)
+                    return image.getType();
+                // custom and indexed types would lose colors when interpolating
+                return image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        }
+    }
+}
@@ -1,27 +1,40 @@
 package org.abelsromero.pdfbox.api.internal;
 
+import org.abelsromero.pdfbox.api.ExtractionOptions;
 import org.abelsromero.pdfbox.api.Image;
 import org.abelsromero.pdfbox.ex.PdfProcessingException;
 import org.apache.pdfbox.contentstream.PDFStreamEngine;
 import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.state.Concatenate;
+import org.apache.pdfbox.contentstream.operator.state.Restore;
+import org.apache.pdfbox.contentstream.operator.state.Save;
+import org.apache.pdfbox.cos.COSArray;
 import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDStream;
 import org.apache.pdfbox.pdmodel.graphics.PDXObject;
 import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.pdfbox.util.Matrix;
 
-import javax.imageio.ImageIO;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Processor to extract images from a PDF and get information about them.
+ * When no output directory is set, images are only listed, without decoding them.
  *
  * @author abelsromero on 22/11/2016.
  */
@@ -34,40 +47,112 @@ public class ImageExtractor extends PDFStreamEngine {
     // Base name for the images
     private final String basename;
 
+    private final ExtractionOptions options;
+    private final ImageEncoder encoder;
+    // Stage to write images, created by process when not shared
+    private ImageWriterStage writer;
+    private final boolean sharedWriter;
+
     // Images information
     private List<Image> images;
+    // Files of the images already written, by stream identity or content
+    private final Map<Object, File> writtenImages;
+    // Caches hashes, so nested streams shared by several images (e.g. ICC profiles) are read once
+    private final StreamHasher hasher = new StreamHasher();
 
     private static final String INVOKE_OPERATOR = "Do";
+    // Images waiting to be written when the stage is not shared
+    private static final int QUEUED_IMAGES = 2;
 
     private int currentPage;
-    private int count = 1;
+    // Counter of images in the current page
+    private int count;
+
 
+    /**
+     * Creates an extractor that only collects the images information, no image is decoded or written.
+     */
+    public ImageExtractor(PDDocument document) {
+        this(document, null, null, ExtractionOptions.with(), null);
+    }
 
     public ImageExtractor(PDDocument document, File output, String basename) {
+        this(document, output, basename, ExtractionOptions.with(), null);
+    }
+
+    /**
+     * @param output (Nullable) directory to write images, when null images are only listed
+     * @param writer (Nullable) stage to write images, shared with other extractors. When null
+     *               a stage with a single thread is created for each {@link #process} call
+     */
+    public ImageExtractor(PDDocument document, File output, String basename, ExtractionOptions options, ImageWriterStage writer) {
         images = new ArrayList<>();
         this.pdfDocument = document;
         this.output = output;
         this.basename = basename;
+        this.options = options;
+        this.encoder = new ImageEncoder(options);
+        this.writer = writer;
+        this.sharedWriter = writer != null;
+        this.writtenImages = options.isDeduplicateByContentEnabled() ? new HashMap<>() : new IdentityHashMap<>();
+
+        // track the transformation matrix, to get the images position and size
+        addOperator(new Save());
+        addOperator(new Restore());
+        addOperator(new Concatenate());
     }
 
     /**
      * Saves all images found in a PDF in a directory.
+     * The document is not closed.
      */
     public ImageExtractor process() {
+        return process(1, pdfDocument.getNumberOfPages());
+    }
+
+    /**
+     * Saves all images found between pages {@code firstPage} and {@code lastPage} (inclusive, counting from 1).
+     * Returns once all images have been written, unless the writer stage is shared.
+     */
+    public ImageExtractor process(int firstPage, int lastPage) {
+        if (output != null && !sharedWriter) {
+            writer = new ImageWriterStage(encoder, 1, QUEUED_IMAGES);
+        }
         try {
+            if (output != null && !output.exists()) output.mkdirs();
+
             currentPage = 0;
-            for (PDPage page : pdfDocument.getPages()) {
+            final Iterator<PDPage> pages = pdfDocument.getPages().iterator();
+            while (pages.hasNext() && currentPage < lastPage) {
+                final PDPage page = pages.next();
                 currentPage++;
-                processPage(page);
+                if (currentPage >= firstPage) {
+                    count = 1;
+                    processPage(page);
+                }
+            }
+            if (!sharedWriter && writer != null) {
+                writer.close();
             }
-
-            pdfDocument.close();
         } catch (IOException e) {
             throw new PdfProcessingException(e);
+        } finally {
+            if (!sharedWriter && writer != null) {
+                closeQuietly(writer);
+                writer = null;
+            }
         }
         return this;
     }
 
+    private static void closeQuietly(ImageWriterStage writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // already failed, the original error is thrown
+        }
+    }
+
 
     /**
      * This is used to handle an operation.
@@ -81,40 +166,168 @@ public class ImageExtractor extends PDFStreamEngine {
         String operation = operator.getName();
         if (INVOKE_OPERATOR.equals(operation)) {
             COSName objectName = (COSName) operands.get(0);
-            PDXObject xobject = getResources().getXObject(objectName);
-            if (xobject instanceof PDImageXObject) {
+            // PDFBox decodes JPX images to create PDImageXObject, so images are read from the dictionary
+            final COSStream stream = xobjectStream(objectName);
+            if (stream != null && COSName.IMAGE.equals(stream.getDictionaryObject(COSName.SUBTYPE))) {
 
-                PDImageXObject image = (PDImageXObject) xobject;
                 Matrix ctmNew = getGraphicsState().getCurrentTransformationMatrix();
 
                 Image im = new Image();
                 im.setPage(currentPage);
                 im.setXPosition(ctmNew.getTranslateX());
                 im.setYPosition(ctmNew.getTranslateY());
-                im.setOriginalHeight(image.getHeight());
-                im.setOriginalWidth(image.getWidth());
+                im.setOriginalHeight(stream.getInt(COSName.HEIGHT));
+                im.setOriginalWidth(stream.getInt(COSName.WIDTH));
                 im.setRenderedWidth(Math.round(ctmNew.getScaleX()));
                 im.setRenderedHeight(Math.round(ctmNew.getScaleY()));
+                setDictionaryInfo(im, stream);
                 images.add(im);
 
-                if (!output.exists()) output.mkdirs();
-                // TODO enable option to set the output format. right now it uses original which means: tiff needs extra dependency and tiff are HUGE!
-                // String extension = "png";
-                String extension = image.getSuffix();
-                File out = new File(output, basename + "-" + currentPage + "-" + count + "." + extension);
+                if (output == null)
+                    return;
 
-                ImageIO.write(image.getImage(), extension, new FileOutputStream(out));
-                count++;
+                final Object key = options.isWriteDuplicatesEnabled() ? null : imageKey(stream);
+                File file = key == null ? null : writtenImages.get(key);
+                if (file == null) {
+                    file = writeImage(objectName, stream);
+                    if (key != null) writtenImages.put(key, file);
+                    count++;
+                }
+                im.setFile(file);
 
-            } else if (xobject instanceof PDFormXObject) {
-                PDFormXObject form = (PDFormXObject) xobject;
-                showForm(form);
+            } else {
+                PDXObject xobject = getResources().getXObject(objectName);
+                if (xobject instanceof PDFormXObject) {
+                    PDFormXObject form = (PDFormXObject) xobject;
+                    showForm(form);
+                }
             }
         } else {
             super.processOperator(operator, operands);
         }
     }
 
+    /**
+     * Returns the XObject stream named {@code name} in the current resources, without creating the PDFBox XObject.
+     */
+    private COSStream xobjectStream(COSName name) {
+        final PDResources resources = getResources();
+        if (resources == null)
+            return null;
+        final COSBase xobjects = resources.getCOSObject().getDictionaryObject(COSName.XOBJECT);
+        if (!(xobjects instanceof COSDictionary))
+            return null;
+        final COSBase xobject = ((COSDictionary) xobjects).getDictionaryObject(name);
+        return xobject instanceof COSStream ? (COSStream) xobject : null;
+    }
+
+    /**
+     * Reads the information from the dictionary, PDFBox getters may decode the image (e.g. color space of JPX).
+     */
+    private static void setDictionaryInfo(Image im, COSStream stream) {
+        im.setBitsPerComponent(stream.getInt(COSName.BITS_PER_COMPONENT, COSName.BPC, -1));
+        final List<String> filters = new ArrayList<>();
+        for (COSName filter : filters(stream)) {
+            filters.add(filter.getName());
+        }
+        im.setFilters(filters);
+        final COSBase colorSpace = stream.getDictionaryObject(COSName.COLORSPACE, COSName.CS);
+        if (colorSpace instanceof COSName) {
+            im.setColorSpace(((COSName) colorSpace).getName());
+        } else if (colorSpace instanceof COSArray && ((COSArray) colorSpace).getObject(0) instanceof COSName) {
+            im.setColorSpace(((COSName) ((COSArray) colorSpace).getObject(0)).getName());
+        }
+        im.setStreamLength(stream.getLength());
+    }
+
+    private static List<COSName> filters(COSStream stream) {
+        final COSBase filters = stream.getFilters();
+        if (filters instanceof COSName)
+            return List.of((COSName) filters);
+        final List<COSName> names = new ArrayList<>();
+        if (filters instanceof COSArray) {
+            final COSArray array = (COSArray) filters;
+            for (int i = 0; i < array.size(); i++) {
+                if (array.getObject(i) instanceof COSName)
+                    names.add((COSName) array.getObject(i));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Copies the encoded image when possible, otherwise the image is created and decoded.
+     */
+    private File writeImage(COSName name, COSStream stream) throws IOException {
+        final COSName passthroughFilter = options.isRawPassthroughEnabled() ? passthroughFilter(stream) : null;
+        if (passthroughFilter != null && encoder.isPassthroughAllowed(suffix(passthroughFilter))) {
+            final File out = outputFile(suffix(passthroughFilter));
+            copyEncoded(stream, passthroughFilter, out);
+            return out;
+        }
+        final PDImageXObject image = (PDImageXObject) getResources().getXObject(name);
+        final String extension = encoder.extension(image);
+        final File out = outputFile(extension);
+        // decoding reads the document, so it must happen in this thread
+        writer.write(image.getImage(), extension, out);
+        return out;
+    }
+
+    /**
+     * Returns the key identifying the image among those already written.
+     * PDFBox resolves each indirect object once, so images drawn in several places share the same stream.
+     */
+    private Object imageKey(COSStream stream) throws IOException {
+        if (!options.isDeduplicateByContentEnabled())
+            return stream;
+        // dictionary is included, same data with different color space or masks is a different image
+        return hasher.hash(stream);
+    }
+
+    /**
+     * Returns the filter whose output can be stored as a file, or null if the image must be decoded.
+     * Checks are done on the dictionary, to avoid PDFBox decoding JPX images to find their color space.
+     */
+    private static COSName passthroughFilter(COSStream dictionary) {
+        final List<COSName> filters = filters(dictionary);
+        if (filters.isEmpty())
+            return null;
+        final COSName filter = filters.get(filters.size() - 1);
+        if (!COSName.DCT_DECODE.equals(filter) && !COSName.JPX_DECODE.equals(filter))
+            return null;
+
+        // masks and decode arrays are applied by PDFBox when decoding, they'd be lost
+        if (dictionary.containsKey(COSName.SMASK) || dictionary.containsKey(COSName.MASK)
+            || dictionary.containsKey(COSName.DECODE) || dictionary.getInt(COSName.getPDFName("SMaskInData"), 0) != 0)
+            return null;
+        // JPX images may define their color space, others must be plain gray or RGB (CMYK JPEGs are usually inverted)
+        final COSBase colorSpace = dictionary.getDictionaryObject(COSName.COLORSPACE, COSName.CS);
+        if (colorSpace == null)
+            return COSName.JPX_DECODE.equals(filter) ? filter : null;
+        return COSName.DEVICEGRAY.equals(colorSpace) || COSName.DEVICERGB.equals(colorSpace) ? filter : null;
+    }
+
+    /**
+     * Copies the image bytes as they are before {@code filter}, that is, as a JPEG or JPEG 2000 file.
+     */
+    private void copyEncoded(COSStream stream, COSName filter, File out) throws IOException {
+        // reading the document must happen in this thread
+        try (InputStream encoded = new PDStream(stream).createInputStream(List.of(filter.getName()))) {
+            writer.write(encoded.readAllBytes(), out);
+        }
+    }
+
+    /**
+     * Same suffix as {@link PDImageXObject#getSuffix()} for the images that can be copied.
+     */
+    private static String suffix(COSName filter) {
+        return COSName.DCT_DECODE.equals(filter) ? "jpg" : "jpx";
+    }
+
+    private File outputFile(String extension) {
+        return new File(output, basename + "-" + currentPage + "-" + count + "." + extension);
+    }
+
     /**
      * Returns the images found after invoking {@link #process()}  method.
      */
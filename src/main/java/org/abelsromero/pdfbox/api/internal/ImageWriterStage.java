@@ -0,0 +1,196 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Encodes and writes images in background threads, so that documents can be parsed while
+ * previous images are written.
+ * <p>
+ * Writes are queued in a bounded queue, when it is full callers block until there is space,
+ * which caps the number of decoded images held in memory.
+ * Each file is opened as a {@link FileChannel} and closed as soon as it is written.
+ * <p>
+ * Thread-safe, several extractors can share the same stage.
+ * The first error stops new writes and is thrown by the next call, or by {@link #close()}.
+ *
+ * @author abelsromero
+ */
+public class ImageWriterStage implements Closeable {
+
+    private interface Write {
+        void to(FileChannel channel) throws IOException;
+    }
+
+    private static class Task {
+
+        private final File file;
+        private final Write write;
+
+        private Task(File file, Write write) {
+            this.file = file;
+            this.write = write;
+        }
+    }
+
+    private final ImageEncoder encoder;
+    private final BlockingQueue<Task> queue;
+    private final List<Thread> threads = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final Object lock = new Object();
+    // Tasks queued or being written, guarded by lock
+    private int pending = 0;
+    private boolean closed = false;
+
+    /**
+     * @param threads  number of writer threads
+     * @param capacity number of writes that can wait in the queue
+     */
+    public ImageWriterStage(ImageEncoder encoder, int threads, int capacity) {
+        if (threads <= 0)
+            throw new IllegalArgumentException(String.format("Invalid number of threads: %s", threads));
+        if (capacity <= 0)
+            throw new IllegalArgumentException(String.format("Invalid capacity: %s", capacity));
+        this.encoder = encoder;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < threads; i++) {
+            final Thread thread = new Thread(this::run, "image-writer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            this.threads.add(thread);
+        }
+    }
+
+    /**
+     * Queues an image to be encoded with {@code extension} format and written to {@code file}.
+     */
+    public void write(BufferedImage image, String extension, File file) throws IOException {
+        submit(new Task(file, channel -> {
+            // the channel is closed by the stage, the stream is not
+            final OutputStream output = Channels.newOutputStream(channel);
+            encoder.write(image, extension, output);
+        }));
+    }
+
+    /**
+     * Queues already encoded bytes to be written to {@code file}.
+     */
+    public void write(byte[] bytes, File file) throws IOException {
+        submit(new Task(file, channel -> {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }));
+    }
+
+    /**
+     * Waits until all queued images are written.
+     */
+    public void await() throws IOException {
+        synchronized (lock) {
+            try {
+                while (pending > 0) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for images to be written", e);
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * Waits until all queued images are written and stops the writer threads.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed)
+                return;
+            closed = true;
+        }
+        try {
+            await();
+        } finally {
+            for (Thread thread : threads) {
+                // threads only block in take, so there's always space for them to finish
+                thread.interrupt();
+            }
+        }
+    }
+
+    private void submit(Task task) throws IOException {
+        checkFailure();
+        synchronized (lock) {
+            if (closed)
+                throw new IllegalStateException("Writer stage is closed");
+            pending++;
+        }
+        try {
+            queue.put(task);
+        } catch (InterruptedException e) {
+            done();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting to write image", e);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            final Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                // after a failure, pending tasks are discarded
+                if (failure.get() == null) {
+                    try (FileChannel channel = FileChannel.open(task.file.toPath(), CREATE, TRUNCATE_EXISTING, WRITE)) {
+                        task.write.to(channel);
+                    }
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                done();
+            }
+        }
+    }
+
+    private void done() {
+        synchronized (lock) {
+            pending--;
+            lock.notifyAll();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        final Throwable t = failure.get();
+        if (t == null)
+            return;
+        if (t instanceof IOException)
+            throw (IOException) t;
+        if (t instanceof RuntimeException)
+            throw (RuntimeException) t;
+        throw new IOException(t);
+    }
+}
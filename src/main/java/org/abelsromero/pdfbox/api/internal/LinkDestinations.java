@@ -0,0 +1,61 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNull;
+
+/**
+ * Removes the pages referenced by link annotations, in their destination or GoTo action.
+ * <p>
+ * Otherwise, copying a page to another document writes the linked pages too and, through their '/Parent',
+ * the whole source. Same as {@link org.apache.pdfbox.multipdf.Splitter} does, but destinations and actions
+ * are replaced by copies, so the source is not modified.
+ *
+ * @author abelsromero
+ */
+public class LinkDestinations {
+
+    private LinkDestinations() {
+    }
+
+    /**
+     * @param annotation annotation dictionary, other annotations than links are ignored
+     */
+    public static void detach(COSDictionary annotation) {
+        if (!COSName.LINK.equals(annotation.getDictionaryObject(COSName.SUBTYPE)))
+            return;
+
+        final COSArray destination = detachedCopy(annotation.getDictionaryObject(COSName.DEST));
+        if (destination != null) {
+            annotation.setItem(COSName.DEST, destination);
+        }
+        final COSBase action = annotation.getDictionaryObject(COSName.A);
+        if (action instanceof COSDictionary && COSName.GOTO.equals(((COSDictionary) action).getDictionaryObject(COSName.S))) {
+            final COSArray actionDestination = detachedCopy(((COSDictionary) action).getDictionaryObject(COSName.D));
+            if (actionDestination != null) {
+                final COSDictionary copiedAction = new COSDictionary((COSDictionary) action);
+                copiedAction.setItem(COSName.D, actionDestination);
+                annotation.setItem(COSName.A, copiedAction);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the destination without its page, or null if it does not reference a page
+     * (e.g. named destinations).
+     */
+    private static COSArray detachedCopy(COSBase destination) {
+        if (!(destination instanceof COSArray))
+            return null;
+        final COSArray array = (COSArray) destination;
+        if (array.size() == 0 || !(array.getObject(0) instanceof COSDictionary))
+            return null;
+
+        final COSArray copy = new COSArray();
+        copy.addAll(array);
+        copy.set(0, COSNull.NULL);
+        return copy;
+    }
+}
@@ -0,0 +1,234 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import org.apache.pdfbox.cos.COSName;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Writes content stream operators and operands straight to bytes, numbers are formatted
+ * into an internal buffer without creating intermediate Strings.
+ * <p>
+ * Each instance holds its own buffer and there's no shared state, so writers can be
+ * used in different threads as long as each stream has its own writer.
+ *
+ * @author abelsromero
+ */
+public class OperatorWriter implements Closeable {
+
+    private static final byte[] SAVE_GRAPHICS_STATE = {'q', '\n'};
+    private static final byte[] RESTORE_GRAPHICS_STATE = {'Q', '\n'};
+    private static final byte[] CONCATENATE_MATRIX = {'c', 'm', '\n'};
+    private static final byte[] XOBJECT_DO = {'D', 'o', '\n'};
+
+    private static final int BUFFER_SIZE = 512;
+    // Enough for any long, sign and decimals
+    private static final int MAX_NUMBER_LENGTH = 32;
+
+    private static final int FRACTION_DIGITS = 5;
+    private static final long FRACTION_SCALE = 100_000;
+    // Beyond this, floats do not have decimals to print
+    private static final double MAX_FAST_FORMAT = 1e9;
+
+    private final OutputStream os;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int count = 0;
+
+    public OperatorWriter(OutputStream os) {
+        this.os = os;
+    }
+
+    public OperatorWriter saveGraphicsState() throws IOException {
+        return operator(SAVE_GRAPHICS_STATE);
+    }
+
+    public OperatorWriter restoreGraphicsState() throws IOException {
+        return operator(RESTORE_GRAPHICS_STATE);
+    }
+
+    /**
+     * Writes the 'cm' operator with the matrix [a b c d e f].
+     */
+    public OperatorWriter concatenate(float a, float b, float c, float d, float e, float f) throws IOException {
+        return operand(a).operand(b).operand(c).operand(d).operand(e).operand(f)
+            .operator(CONCATENATE_MATRIX);
+    }
+
+    /**
+     * Writes the 'Do' operator for the XObject registered in the resources with {@code name}.
+     */
+    public OperatorWriter drawXObject(COSName name) throws IOException {
+        return name(name).operator(XOBJECT_DO);
+    }
+
+    public OperatorWriter operand(float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value))
+            throw new IllegalArgumentException(value + " is not a finite number");
+
+        final double abs = Math.abs((double) value);
+        if (abs >= MAX_FAST_FORMAT) {
+            // rare enough to accept the garbage
+            writeAscii(BigDecimal.valueOf(value).toPlainString());
+            return space();
+        }
+
+        final long scaled = Math.round(abs * FRACTION_SCALE);
+        if (scaled == 0) {
+            writeByte('0');
+            return space();
+        }
+
+        ensureCapacity(MAX_NUMBER_LENGTH);
+        if (value < 0) buffer[count++] = '-';
+        writeDigits(scaled / FRACTION_SCALE);
+
+        long fraction = scaled % FRACTION_SCALE;
+        if (fraction != 0) {
+            int digits = FRACTION_DIGITS;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            buffer[count++] = '.';
+            // fill leading zeros, e.g. 0.05
+            final int end = count + digits;
+            for (int i = end - 1; i >= count; i--) {
+                buffer[i] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            count = end;
+        }
+        return space();
+    }
+
+    public OperatorWriter operand(int value) throws IOException {
+        ensureCapacity(MAX_NUMBER_LENGTH);
+        long longValue = value;
+        if (longValue < 0) {
+            buffer[count++] = '-';
+            longValue = -longValue;
+        }
+        writeDigits(longValue);
+        return space();
+    }
+
+    public OperatorWriter name(COSName name) throws IOException {
+        final String value = name.getName();
+        if (value.length() + 2 <= buffer.length) {
+            ensureCapacity(value.length() + 2);
+            final int start = count;
+            buffer[count++] = '/';
+            int i = 0;
+            while (i < value.length() && isRegularCharacter(value.charAt(i))) {
+                buffer[count++] = (byte) value.charAt(i++);
+            }
+            if (i == value.length())
+                return space();
+            count = start;
+        }
+        // let PDFBox deal with escaping
+        final ByteArrayOutputStream escaped = new ByteArrayOutputStream();
+        name.writePDF(escaped);
+        write(escaped.toByteArray());
+        return space();
+    }
+
+    /**
+     * Writes an operator, it must contain the trailing separator.
+     */
+    public OperatorWriter operator(byte[] operator) throws IOException {
+        write(operator);
+        return this;
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        os.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        os.close();
+    }
+
+    private static boolean isRegularCharacter(char c) {
+        if (c <= ' ' || c > '~')
+            return false;
+        switch (c) {
+            case '#':
+            case '/':
+            case '%':
+            case '(':
+            case ')':
+            case '<':
+            case '>':
+            case '[':
+            case ']':
+            case '{':
+            case '}':
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Writes a positive number, capacity must be ensured by the caller.
+     */
+    private void writeDigits(long value) {
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        final int end = count + digits;
+        for (int i = end - 1; i >= count; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        count = end;
+    }
+
+    private OperatorWriter space() throws IOException {
+        writeByte(' ');
+        return this;
+    }
+
+    private void writeAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            writeByte(value.charAt(i));
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length) {
+            flushBuffer();
+            os.write(bytes);
+            return;
+        }
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (count + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            os.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
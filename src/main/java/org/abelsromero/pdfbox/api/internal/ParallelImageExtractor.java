@@ -0,0 +1,103 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import org.abelsromero.pdfbox.api.ExtractionOptions;
+import org.abelsromero.pdfbox.api.Image;
+import org.abelsromero.pdfbox.api.LoadingPolicy;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Extracts images scanning ranges of pages concurrently, see {@link ImageExtractor}.
+ * <p>
+ * PDFBox objects are not thread-safe, so each worker loads its own copy of the document.
+ * Decoded images are encoded and written by a shared {@link ImageWriterStage}, with as
+ * many threads as workers.
+ * <p>
+ * Duplicated images are tracked by each worker, so an image drawn in the ranges
+ * of several workers is written once per worker.
+ *
+ * @author abelsromero
+ */
+public class ParallelImageExtractor {
+
+    // Images waiting to be written per writer thread
+    private static final int QUEUED_IMAGES_PER_WRITER = 2;
+
+    private final Path source;
+    private final LoadingPolicy loadingPolicy;
+    private final File output;
+    private final String basename;
+    private final ExtractionOptions options;
+
+    public ParallelImageExtractor(Path source, LoadingPolicy loadingPolicy, File output, String basename, ExtractionOptions options) {
+        this.source = source;
+        this.loadingPolicy = loadingPolicy;
+        this.output = output;
+        this.basename = basename;
+        this.options = options;
+    }
+
+    /**
+     * Saves all images found in the document, returns their information in page order.
+     *
+     * @param pagesCount number of pages of the document
+     */
+    public List<Image> process(int pagesCount) throws IOException {
+        final int workersCount = Math.max(1, Math.min(options.getWorkers(), pagesCount));
+
+        final List<Callable<List<Image>>> tasks = new ArrayList<>();
+        final ImageWriterStage writer = new ImageWriterStage(new ImageEncoder(options), workersCount, workersCount * QUEUED_IMAGES_PER_WRITER);
+        for (int worker = 0; worker < workersCount; worker++) {
+            // contiguous ranges, so that results can be merged in order
+            final int firstPage = (int) ((long) worker * pagesCount / workersCount) + 1;
+            final int lastPage = (int) ((long) (worker + 1) * pagesCount / workersCount);
+            tasks.add(() -> {
+                try (PDDocument document = loadingPolicy.load(source)) {
+                    return new ImageExtractor(document, output, basename, options, writer)
+                        .process(firstPage, lastPage)
+                        .getImages();
+                }
+            });
+        }
+
+        final ExecutorService scanner = Executors.newFixedThreadPool(workersCount);
+        try {
+            final List<Image> images = new ArrayList<>();
+            for (Future<List<Image>> result : scanner.invokeAll(tasks)) {
+                images.addAll(result.get());
+            }
+            writer.close();
+            return images;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Extraction interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IOException(e.getCause());
+        } finally {
+            scanner.shutdownNow();
+            closeQuietly(writer);
+        }
+    }
+
+    private static void closeQuietly(ImageWriterStage writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // already failed, the original error is thrown
+        }
+    }
+}
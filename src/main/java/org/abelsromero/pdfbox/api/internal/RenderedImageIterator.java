@@ -0,0 +1,128 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import org.abelsromero.pdfbox.ex.PdfProcessingException;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.image.RenderedImage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Iterates the images in the resources of the pages of a document (including forms), decoding
+ * each one only when it is requested. Pages are also read as needed.
+ * <p>
+ * Images shared by several pages or forms are returned once.
+ * Not thread-safe, as the document it reads.
+ *
+ * @author abelsromero
+ */
+public class RenderedImageIterator implements Iterator<RenderedImage>, Closeable {
+
+    private final Iterator<PDPage> pages;
+    // Resources being visited, forms are pushed on top of the page (or form) that uses them
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    // XObjects already visited, PDFBox resolves each indirect object once
+    private final Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Image to return in the next call, not decoded yet
+    private PDImageXObject nextImage;
+    private boolean closed = false;
+
+    public RenderedImageIterator(PDDocument document) {
+        this.pages = document.getPages().iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed)
+            return false;
+        if (nextImage == null) {
+            try {
+                nextImage = findNextImage();
+            } catch (IOException e) {
+                throw new PdfProcessingException(e);
+            }
+        }
+        return nextImage != null;
+    }
+
+    @Override
+    public RenderedImage next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        final PDImageXObject image = nextImage;
+        nextImage = null;
+        try {
+            return image.getImage();
+        } catch (IOException e) {
+            throw new PdfProcessingException(e);
+        }
+    }
+
+    /**
+     * Releases the references to the pages pending to visit, the document is not closed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        nextImage = null;
+        frames.clear();
+        visited.clear();
+    }
+
+    private PDImageXObject findNextImage() throws IOException {
+        while (true) {
+            final Frame frame = frames.peek();
+            if (frame == null) {
+                if (!pages.hasNext())
+                    return null;
+                push(pages.next().getResources());
+                continue;
+            }
+            if (!frame.names.hasNext()) {
+                frames.pop();
+                continue;
+            }
+
+            final PDXObject xObject = frame.resources.getXObject(frame.names.next());
+            if (xObject == null || !visited.add(xObject.getCOSObject()))
+                continue;
+            if (xObject instanceof PDImageXObject) {
+                return (PDImageXObject) xObject;
+            } else if (xObject instanceof PDFormXObject) {
+                push(((PDFormXObject) xObject).getResources());
+            }
+        }
+    }
+
+    private void push(PDResources resources) {
+        if (resources != null) {
+            frames.push(new Frame(resources));
+        }
+    }
+
+    private static class Frame {
+
+        private final PDResources resources;
+        private final Iterator<COSName> names;
+
+        private Frame(PDResources resources) {
+            this.resources = resources;
+            this.names = resources.getXObjectNames().iterator();
+        }
+    }
+}
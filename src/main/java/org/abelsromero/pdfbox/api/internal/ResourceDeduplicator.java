@@ -0,0 +1,219 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collapses identical images, font programs and ICC profiles of a document into a single object.
+ * <p>
+ * Streams are identical when their encoded bytes and dictionaries are, nested streams (e.g. soft masks)
+ * are compared by content too. References in the resources of pages, forms and annotation appearances
+ * are replaced by the first stream found, so duplicates are no longer written when the document is saved.
+ * <p>
+ * Not thread-safe, as the document it modifies.
+ *
+ * @author abelsromero
+ */
+public class ResourceDeduplicator {
+
+    private static final COSName[] FONT_FILES = {COSName.FONT_FILE, COSName.FONT_FILE2, COSName.FONT_FILE3};
+    private static final COSName[] APPEARANCES = {COSName.N, COSName.R, COSName.D};
+
+    // First stream found for each content hash
+    private final Map<String, COSStream> canonical = new HashMap<>();
+    private final StreamHasher hasher = new StreamHasher();
+    // Dictionaries already visited, resources are usually shared
+    private final Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private int duplicates = 0;
+    private long duplicatedBytes = 0;
+
+    /**
+     * Deduplicates the resources used by all pages of {@code document}.
+     */
+    public ResourceDeduplicator process(PDDocument document) throws IOException {
+        for (PDPage page : document.getPages()) {
+            final COSDictionary pageDictionary = page.getCOSObject();
+            // inherited resources are found through the page
+            if (page.getResources() != null) {
+                resources(page.getResources().getCOSObject());
+            }
+            annotations(pageDictionary.getDictionaryObject(COSName.ANNOTS));
+        }
+        return this;
+    }
+
+    /**
+     * Number of references replaced by an identical stream.
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Encoded size of the streams no longer referenced, approximately the bytes saved.
+     */
+    public long getDuplicatedBytes() {
+        return duplicatedBytes;
+    }
+
+    private void resources(COSDictionary resources) throws IOException {
+        if (resources == null || !visited.add(resources))
+            return;
+
+        final COSDictionary xObjects = dictionary(resources.getDictionaryObject(COSName.XOBJECT));
+        if (xObjects != null) {
+            for (COSName name : new ArrayList<>(xObjects.keySet())) {
+                final COSBase xObject = xObjects.getDictionaryObject(name);
+                if (!(xObject instanceof COSStream))
+                    continue;
+                final COSStream stream = (COSStream) xObject;
+                if (COSName.IMAGE.equals(stream.getCOSName(COSName.SUBTYPE))) {
+                    image(xObjects, name, stream);
+                } else if (COSName.FORM.equals(stream.getCOSName(COSName.SUBTYPE))) {
+                    resources(dictionary(stream.getDictionaryObject(COSName.RESOURCES)));
+                }
+            }
+        }
+
+        final COSDictionary fonts = dictionary(resources.getDictionaryObject(COSName.FONT));
+        if (fonts != null) {
+            for (COSName name : fonts.keySet()) {
+                font(dictionary(fonts.getDictionaryObject(name)));
+            }
+        }
+
+        final COSDictionary colorSpaces = dictionary(resources.getDictionaryObject(COSName.COLORSPACE));
+        if (colorSpaces != null) {
+            for (COSName name : colorSpaces.keySet()) {
+                colorSpace(colorSpaces.getDictionaryObject(name));
+            }
+        }
+    }
+
+    private void image(COSDictionary parent, COSName key, COSStream image) throws IOException {
+        // nested streams first, so that duplicated images end up with the same references
+        if (visited.add(image)) {
+            final COSBase softMask = image.getDictionaryObject(COSName.SMASK);
+            if (softMask instanceof COSStream) {
+                image(image, COSName.SMASK, (COSStream) softMask);
+            }
+            colorSpace(image.getDictionaryObject(COSName.COLORSPACE));
+        }
+        replace(parent, key, image);
+    }
+
+    private void font(COSDictionary font) throws IOException {
+        if (font == null || !visited.add(font))
+            return;
+        final COSDictionary descriptor = dictionary(font.getDictionaryObject(COSName.FONT_DESC));
+        if (descriptor != null) {
+            for (COSName fontFile : FONT_FILES) {
+                final COSBase program = descriptor.getDictionaryObject(fontFile);
+                if (program instanceof COSStream) {
+                    replace(descriptor, fontFile, (COSStream) program);
+                }
+            }
+        }
+        // Type0 fonts keep the program in their descendant
+        final COSBase descendants = font.getDictionaryObject(COSName.DESCENDANT_FONTS);
+        if (descendants instanceof COSArray) {
+            for (COSBase descendant : (COSArray) descendants) {
+                font(dictionary(descendant));
+            }
+        }
+        // Type3 glyphs may use other resources
+        resources(dictionary(font.getDictionaryObject(COSName.RESOURCES)));
+    }
+
+    /**
+     * Replaces ICC profiles of ICCBased color spaces, also when used as base of other color spaces (e.g. Indexed).
+     */
+    private void colorSpace(COSBase colorSpace) throws IOException {
+        final COSBase resolved = resolve(colorSpace);
+        if (!(resolved instanceof COSArray))
+            return;
+        final COSArray array = (COSArray) resolved;
+        if (array.size() == 2 && COSName.ICCBASED.equals(array.getObject(0)) && array.getObject(1) instanceof COSStream) {
+            final COSStream profile = (COSStream) array.getObject(1);
+            final COSStream replacement = canonical(profile);
+            if (replacement != profile) {
+                array.set(1, replacement);
+                countDuplicate(profile);
+            }
+            return;
+        }
+        for (int i = 1; i < array.size(); i++) {
+            colorSpace(array.getObject(i));
+        }
+    }
+
+    private void annotations(COSBase annotations) throws IOException {
+        final COSBase resolved = resolve(annotations);
+        if (!(resolved instanceof COSArray))
+            return;
+        for (COSBase annotation : (COSArray) resolved) {
+            final COSDictionary annotationDictionary = dictionary(annotation);
+            if (annotationDictionary == null)
+                continue;
+            final COSDictionary appearance = dictionary(annotationDictionary.getDictionaryObject(COSName.AP));
+            if (appearance == null)
+                continue;
+            for (COSName type : APPEARANCES) {
+                final COSBase entry = appearance.getDictionaryObject(type);
+                if (entry instanceof COSStream) {
+                    resources(dictionary(((COSStream) entry).getDictionaryObject(COSName.RESOURCES)));
+                } else if (entry instanceof COSDictionary) {
+                    // appearance states, e.g. checkboxes
+                    final COSDictionary states = (COSDictionary) entry;
+                    for (COSName state : states.keySet()) {
+                        final COSBase stateStream = states.getDictionaryObject(state);
+                        if (stateStream instanceof COSStream) {
+                            resources(dictionary(((COSStream) stateStream).getDictionaryObject(COSName.RESOURCES)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void replace(COSDictionary parent, COSName key, COSStream stream) throws IOException {
+        final COSStream replacement = canonical(stream);
+        if (replacement != stream) {
+            parent.setItem(key, replacement);
+            countDuplicate(stream);
+        }
+    }
+
+    private void countDuplicate(COSStream stream) {
+        duplicates++;
+        duplicatedBytes += stream.getLength();
+    }
+
+    private COSStream canonical(COSStream stream) throws IOException {
+        return canonical.computeIfAbsent(hasher.hash(stream), hash -> stream);
+    }
+
+    private static COSBase resolve(COSBase base) {
+        return base instanceof COSObject ? ((COSObject) base).getObject() : base;
+    }
+
+    private static COSDictionary dictionary(COSBase base) {
+        final COSBase resolved = resolve(base);
+        return resolved instanceof COSDictionary ? (COSDictionary) resolved : null;
+    }
+}
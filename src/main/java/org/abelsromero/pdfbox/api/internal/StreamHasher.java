@@ -0,0 +1,130 @@
+package org.abelsromero.pdfbox.api.internal;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes content hashes of streams: SHA-256 of the encoded bytes and of a canonical form of the dictionary.
+ * <p>
+ * The canonical form sorts entries by key, ignores /Length and replaces nested streams (e.g. soft masks or
+ * ICC profiles) by their own hash, so identical streams get the same hash regardless of how they are stored.
+ * Hashes are cached by stream instance.
+ * <p>
+ * Not thread-safe.
+ *
+ * @author abelsromero
+ */
+public class StreamHasher {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Content hash of the streams already read
+    private final Map<COSStream, String> hashes = new IdentityHashMap<>();
+    // Streams being hashed, to detect cycles
+    private final Set<COSStream> hashing = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public String hash(COSStream stream) throws IOException {
+        final String known = hashes.get(stream);
+        if (known != null)
+            return known;
+
+        final MessageDigest digest = sha256();
+        try (InputStream raw = stream.createRawInputStream()) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = raw.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        final StringBuilder dictionary = new StringBuilder();
+        hashing.add(stream);
+        try {
+            canonicalForm(stream, dictionary, Collections.newSetFromMap(new IdentityHashMap<>()));
+        } finally {
+            hashing.remove(stream);
+        }
+        digest.update(dictionary.toString().getBytes(StandardCharsets.UTF_8));
+
+        final String hash = encode(digest);
+        hashes.put(stream, hash);
+        return hash;
+    }
+
+    /**
+     * Writes the dictionary entries sorted by key, with nested streams replaced by their hash.
+     */
+    private void canonicalForm(COSDictionary dictionary, StringBuilder sb, Set<COSBase> path) throws IOException {
+        final List<COSName> keys = new ArrayList<>(dictionary.keySet());
+        Collections.sort(keys);
+        sb.append("<<");
+        for (COSName key : keys) {
+            // same content may be stored with different lengths (e.g. direct or indirect)
+            if (COSName.LENGTH.equals(key))
+                continue;
+            sb.append('/').append(key.getName()).append(' ');
+            canonicalForm(dictionary.getDictionaryObject(key), sb, path);
+            sb.append(' ');
+        }
+        sb.append(">>");
+    }
+
+    private void canonicalForm(COSBase value, StringBuilder sb, Set<COSBase> path) throws IOException {
+        if (value instanceof COSStream) {
+            sb.append(hashing.contains(value) ? "cycle" : "stream:" + hash((COSStream) value));
+        } else if (value instanceof COSDictionary || value instanceof COSArray) {
+            if (!path.add(value)) {
+                // cyclic reference, e.g. /Parent
+                sb.append("cycle");
+                return;
+            }
+            if (value instanceof COSDictionary) {
+                canonicalForm((COSDictionary) value, sb, path);
+            } else {
+                sb.append('[');
+                for (COSBase item : (COSArray) value) {
+                    canonicalForm(item instanceof COSObject ? ((COSObject) item).getObject() : item, sb, path);
+                    sb.append(' ');
+                }
+                sb.append(']');
+            }
+            path.remove(value);
+        } else if (value instanceof COSName) {
+            sb.append('/').append(((COSName) value).getName());
+        } else {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * Digest for content hashes, also used by {@link ImageCache}.
+     */
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // all JVMs are required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String encode(MessageDigest digest) {
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+}
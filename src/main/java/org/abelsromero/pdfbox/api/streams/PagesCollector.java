@@ -1,11 +1,23 @@
 package org.abelsromero.pdfbox.api.streams;
 
+import org.abelsromero.pdfbox.api.LoadingPolicy;
+import org.abelsromero.pdfbox.api.internal.LinkDestinations;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageTree;
 
 import javax.naming.OperationNotSupportedException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
@@ -13,21 +25,51 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
 
+/**
+ * Collects pages into a new document.
+ * <p>
+ * Pages are added as shallow copies, so the source document is not modified and its pages can
+ * be collected any number of times.
+ * <p>
+ * Parallel streams are not supported, PDFBox gives no guarantee for concurrent access to a document, even reads.
+ *
+ * @author abelsromero
+ */
 public class PagesCollector implements Collector<PDPage, PDDocument, PDDocument> {
 
+    // Attributes a page can take from its ancestors in the pages tree
+    private static final List<COSName> INHERITABLE_ATTRIBUTES = Arrays.asList(
+        COSName.RESOURCES, COSName.MEDIA_BOX, COSName.CROP_BOX, COSName.ROTATE);
+    // Entries of annotations referencing other annotations
+    private static final List<COSName> ANNOTATION_REFERENCES = Arrays.asList(
+        COSName.getPDFName("Popup"), COSName.PARENT, COSName.getPDFName("IRT"));
+
+    private final LoadingPolicy loadingPolicy;
+
+    public PagesCollector() {
+        this(LoadingPolicy.mainMemoryOnly());
+    }
+
+    /**
+     * @param loadingPolicy policy used to create the output document
+     */
+    public PagesCollector(LoadingPolicy loadingPolicy) {
+        this.loadingPolicy = loadingPolicy;
+    }
+
     @Override
     public Supplier<PDDocument> supplier() {
-        return PDDocument::new;
+        return loadingPolicy::createDocument;
     }
 
     @Override
     public BiConsumer<PDDocument, PDPage> accumulator() {
-        return (doc, page) -> doc.addPage(page);
+        return (doc, page) -> doc.addPage(importPage(page));
     }
 
     @Override
     public BinaryOperator<PDDocument> combiner() {
-        // parallel streams not supported yet
+        // parallel streams not supported
         return (d1, d2) -> {
             throw new RuntimeException(new OperationNotSupportedException());
         };
@@ -43,4 +85,70 @@ public class PagesCollector implements Collector<PDPage, PDDocument, PDDocument>
         return Collections.unmodifiableSet(EnumSet.of(Collector.Characteristics.IDENTITY_FINISH));
     }
 
+    /**
+     * Returns a copy of {@code page} sharing its contents and resources, but detached from the source tree.
+     * <p>
+     * Adding the original page to another document would overwrite its '/Parent', breaking the
+     * source for the next selections.
+     */
+    public static PDPage importPage(PDPage page) {
+        final COSDictionary source = page.getCOSObject();
+        final COSDictionary copy = new COSDictionary(source);
+        copy.removeItem(COSName.PARENT);
+        for (COSName attribute : INHERITABLE_ATTRIBUTES) {
+            if (!copy.containsKey(attribute)) {
+                final COSBase value = PDPageTree.getInheritableAttribute(source, attribute);
+                if (value != null)
+                    copy.setItem(attribute, value);
+            }
+        }
+
+        final COSBase annotations = copy.getDictionaryObject(COSName.ANNOTS);
+        if (annotations instanceof COSArray) {
+            copy.setItem(COSName.ANNOTS, importAnnotations((COSArray) annotations, copy));
+        }
+        return new PDPage(copy);
+    }
+
+    /**
+     * Copies the annotations of a page, so that references to the page (/P) and between annotations
+     * (/Popup, /Parent, /IRT) point to the copies.
+     * <p>
+     * Otherwise the originals would be written too and, through their '/P', the source page and its whole tree.
+     * References to objects out of the page (e.g. a reply to an annotation in another page, the form
+     * field of a widget, or the page a link goes to) are removed for the same reason.
+     */
+    private static COSArray importAnnotations(COSArray annotations, COSDictionary page) {
+        final Map<COSDictionary, COSDictionary> copies = new IdentityHashMap<>();
+        final COSArray copiedAnnotations = new COSArray();
+        for (COSBase item : annotations) {
+            final COSBase annotation = item instanceof COSObject ? ((COSObject) item).getObject() : item;
+            if (annotation instanceof COSDictionary) {
+                final COSDictionary copiedAnnotation = new COSDictionary((COSDictionary) annotation);
+                copies.put((COSDictionary) annotation, copiedAnnotation);
+                copiedAnnotations.add(copiedAnnotation);
+            } else {
+                copiedAnnotations.add(item);
+            }
+        }
+
+        for (COSDictionary copiedAnnotation : copies.values()) {
+            if (copiedAnnotation.containsKey(COSName.P)) {
+                copiedAnnotation.setItem(COSName.P, page);
+            }
+            LinkDestinations.detach(copiedAnnotation);
+            for (COSName reference : ANNOTATION_REFERENCES) {
+                final COSBase target = copiedAnnotation.getDictionaryObject(reference);
+                if (target == null)
+                    continue;
+                final COSDictionary copiedTarget = copies.get(target);
+                if (copiedTarget != null) {
+                    copiedAnnotation.setItem(reference, copiedTarget);
+                } else {
+                    copiedAnnotation.removeItem(reference);
+                }
+            }
+        }
+        return copiedAnnotations;
+    }
 }
@@ -0,0 +1,49 @@
+package org.abelsromero.pdfbox;
+
+import org.abelsromero.pdfbox.api.ExtractionOptions;
+import org.abelsromero.pdfbox.api.internal.ImageEncoder;
+import org.abelsromero.pdfbox.api.internal.ImageWriterStage;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.abelsromero.pdfbox.TestUtils.createTestDirectory;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class ImageWriterStageTest {
+
+    private final ImageEncoder encoder = new ImageEncoder(ExtractionOptions.with());
+
+    @Test
+    void should_write_all_queued_images_before_closing() throws IOException {
+        File outputDir = createTestDirectory();
+
+        try (ImageWriterStage writer = new ImageWriterStage(encoder, 2, 1)) {
+            for (int i = 0; i < 10; i++) {
+                writer.write(new BufferedImage(10 + i, 10, BufferedImage.TYPE_INT_RGB), "png", new File(outputDir, i + ".png"));
+            }
+            writer.write(new byte[]{1, 2, 3}, new File(outputDir, "raw.bin"));
+        }
+
+        assertThat(outputDir.listFiles()).hasSize(11);
+        assertThat(ImageIO.read(new File(outputDir, "9.png")).getWidth()).isEqualTo(19);
+        assertThat(new File(outputDir, "raw.bin")).hasBinaryContent(new byte[]{1, 2, 3});
+    }
+
+    @Test
+    void should_fail_when_an_image_cannot_be_written() {
+        File missingDir = new File(createTestDirectory(), "missing");
+
+        Throwable throwable = catchThrowable(() -> {
+            try (ImageWriterStage writer = new ImageWriterStage(encoder, 1, 1)) {
+                writer.write(new byte[]{1}, new File(missingDir, "raw.bin"));
+            }
+        });
+
+        assertThat(throwable).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package org.abelsromero.pdfbox;
+
+import org.abelsromero.pdfbox.api.LoadingPolicy;
+import org.abelsromero.pdfbox.api.PdfPageSelector;
+import org.abelsromero.pdfbox.api.PdfRotator;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import static org.abelsromero.pdfbox.TestUtils.createTestDirectory;
+import static org.abelsromero.pdfbox.utils.LocalUtils.getFileFromClassPath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class LoadingPolicyTest {
+
+    private static final String MISSING_DIRECTORY_MESSAGE = "Scratch file directory does not exist";
+
+    @Test
+    void should_create_a_mixed_memory_setting() {
+        MemoryUsageSetting setting = LoadingPolicy.mixed(1024 * 1024).toMemoryUsageSetting();
+
+        assertThat(setting.useMainMemory()).isTrue();
+        assertThat(setting.useTempFile()).isTrue();
+        assertThat(setting.isMainMemoryRestricted()).isTrue();
+        assertThat(setting.getMaxMainMemoryBytes()).isEqualTo(1024 * 1024);
+    }
+
+    @Test
+    void should_fail_on_negative_mixed_memory() {
+        Throwable throwable = catchThrowable(() -> LoadingPolicy.mixed(-1));
+
+        assertThat(throwable)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid max main memory: -1");
+    }
+
+    @Test
+    void should_store_temporary_files_in_the_temp_dir() throws IOException {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File tempDir = createTestDirectory("temp-dir");
+        LoadingPolicy policy = LoadingPolicy.tempFileOnly().tempDir(tempDir);
+
+        assertThat(policy.toMemoryUsageSetting().getTempDir()).isEqualTo(tempDir);
+        try (PDDocument document = policy.load(pdf.toPath())) {
+            assertThat(document.getNumberOfPages()).isPositive();
+            assertThat(tempDir.listFiles()).isNotEmpty();
+        }
+        assertThat(tempDir.listFiles()).isEmpty();
+    }
+
+    @Test
+    void should_keep_original_policy_when_setting_temp_dir() {
+        LoadingPolicy policy = LoadingPolicy.mixed(2048);
+
+        policy.tempDir(createTestDirectory("temp-dir"));
+
+        assertThat(policy.toMemoryUsageSetting().getTempDir()).isNull();
+    }
+
+    @Test
+    void should_use_the_policy_in_the_splitter() {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+
+        Throwable throwable = catchThrowable(() -> new PdfSplitter()
+            .loadingPolicy(missingTempDirPolicy())
+            .processFile(pdf, createTestDirectory("split")));
+
+        assertThat(throwable)
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining(MISSING_DIRECTORY_MESSAGE);
+    }
+
+    @Test
+    void should_use_the_policy_in_the_rotator() {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+
+        Throwable throwable = catchThrowable(() -> PdfRotator.loadPdf(pdf, missingTempDirPolicy()));
+
+        assertThat(throwable)
+            .hasRootCauseInstanceOf(IOException.class)
+            .hasStackTraceContaining(MISSING_DIRECTORY_MESSAGE);
+    }
+
+    @Test
+    void should_use_the_policy_in_the_page_selector() {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+
+        Throwable throwable = catchThrowable(() -> PdfPageSelector.builder()
+            .file(pdf)
+            .pages(1)
+            .loadingPolicy(missingTempDirPolicy())
+            .writeTo(new ByteArrayOutputStream()));
+
+        assertThat(throwable)
+            .hasRootCauseInstanceOf(IOException.class)
+            .hasStackTraceContaining(MISSING_DIRECTORY_MESSAGE);
+    }
+
+    private static LoadingPolicy missingTempDirPolicy() {
+        return LoadingPolicy.tempFileOnly().tempDir(new File("build/missing-temp-dir"));
+    }
+}
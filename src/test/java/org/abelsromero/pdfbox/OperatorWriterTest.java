@@ -0,0 +1,55 @@
+package org.abelsromero.pdfbox;
+
+import org.abelsromero.pdfbox.api.internal.OperatorWriter;
+import org.apache.pdfbox.cos.COSName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class OperatorWriterTest {
+
+    @Test
+    void should_format_numbers() throws IOException {
+        var output = new ByteArrayOutputStream();
+
+        try (OperatorWriter writer = new OperatorWriter(output)) {
+            writer.operand(0f)
+                .operand(1200f)
+                .operand(-1.5f)
+                .operand(0.05f)
+                .operand(123.456789f)
+                .operand(-0.000001f)
+                .operand(-42);
+        }
+
+        assertThat(output.toString(StandardCharsets.ISO_8859_1))
+            .isEqualTo("0 1200 -1.5 0.05 123.45679 0 -42 ");
+    }
+
+    @Test
+    void should_write_an_xobject_drawing() throws IOException {
+        var output = new ByteArrayOutputStream();
+
+        try (OperatorWriter writer = new OperatorWriter(output)) {
+            writer.saveGraphicsState()
+                .concatenate(104, 0, 0, 104, 297.5f, 421)
+                .drawXObject(COSName.getPDFName("Im1"))
+                .restoreGraphicsState();
+        }
+
+        assertThat(output.toString(StandardCharsets.ISO_8859_1))
+            .isEqualTo("q\n104 0 0 104 297.5 421 cm\n/Im1 Do\nQ\n");
+    }
+
+    @Test
+    void should_fail_with_non_finite_numbers() {
+        Throwable throwable = catchThrowable(() -> new OperatorWriter(new ByteArrayOutputStream()).operand(Float.NaN));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,71 @@
+package org.abelsromero.pdfbox;
+
+import org.abelsromero.pdfbox.api.PageRanges;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class PageRangesTest {
+
+    @Test
+    void should_parse_single_pages_and_ranges() {
+        PageRanges ranges = PageRanges.parse("3, 1-2,7-8");
+
+        assertThat(ranges.stream(10).toArray()).containsExactly(3, 1, 2, 7, 8);
+        assertThat(ranges.count(10)).isEqualTo(5);
+        assertThat(ranges.isAscending(10)).isFalse();
+    }
+
+    @Test
+    void should_resolve_end_to_the_last_page() {
+        PageRanges ranges = PageRanges.parse("1-2,8-end");
+
+        assertThat(ranges.stream(10).toArray()).containsExactly(1, 2, 8, 9, 10);
+        assertThat(ranges.isAscending(10)).isTrue();
+    }
+
+    @Test
+    void should_select_odd_and_even_pages() {
+        assertThat(PageRanges.parse("odd").stream(7).toArray()).containsExactly(1, 3, 5, 7);
+        assertThat(PageRanges.parse("EVEN").stream(7).toArray()).containsExactly(2, 4, 6);
+        assertThat(PageRanges.parse("even").stream(1).toArray()).isEmpty();
+    }
+
+    @Test
+    void should_stream_large_ranges_lazily() {
+        PageRanges ranges = PageRanges.parse("1-50000");
+
+        assertThat(ranges.count(50_000)).isEqualTo(50_000);
+        assertThat(ranges.stream(50_000).skip(49_999).findFirst()).hasValue(50_000);
+    }
+
+    @Test
+    void should_create_ranges_from_pages() {
+        PageRanges ranges = PageRanges.of(1, 2, 3, 5, 4, 4);
+
+        assertThat(ranges.stream(5).toArray()).containsExactly(1, 2, 3, 5, 4, 4);
+        assertThat(ranges.isAscending(5)).isFalse();
+        assertThat(PageRanges.of(1, 2, 3, 5).isAscending(5)).isTrue();
+    }
+
+    @Test
+    void should_fail_on_invalid_expressions() {
+        for (String expression : new String[]{"", "1,,2", "a", "0", "-2", "3-1", "1-", "2-odd", "1 2"}) {
+            Throwable throwable = catchThrowable(() -> PageRanges.parse(expression));
+
+            assertThat(throwable)
+                .as(expression)
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void should_fail_on_pages_outside_the_document() {
+        Throwable throwable = catchThrowable(() -> PageRanges.parse("2-12").stream(10));
+
+        assertThat(throwable)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid page index: 12");
+    }
+}
@@ -0,0 +1,94 @@
+package org.abelsromero.pdfbox;
+
+import org.abelsromero.pdfbox.api.streams.PagesCollector;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageFitDestination;
+import org.junit.jupiter.api.Test;
+
+import javax.naming.OperationNotSupportedException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.abelsromero.pdfbox.utils.LocalUtils.getFileFromClassPath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class PagesCollectorTest {
+
+    @Test
+    void should_collect_pages_in_encounter_order() throws IOException {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+
+        try (PDDocument source = PDDocument.load(pdf)) {
+            List<PDPage> pages = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                pages.add(source.getPage(i * 3 % source.getNumberOfPages()));
+            }
+
+            try (PDDocument output = pages.stream().collect(new PagesCollector())) {
+                assertThat(output.getNumberOfPages()).isEqualTo(50);
+                for (int i = 0; i < 50; i++) {
+                    assertThat(output.getPage(i).getCOSObject().getItem(COSName.CONTENTS))
+                        .isSameAs(pages.get(i).getCOSObject().getItem(COSName.CONTENTS));
+                }
+            }
+        }
+    }
+
+    @Test
+    void should_fail_on_parallel_streams() throws IOException {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+
+        try (PDDocument source = PDDocument.load(pdf)) {
+            List<PDPage> pages = List.of(source.getPage(0), source.getPage(1), source.getPage(2), source.getPage(3));
+
+            Throwable throwable = catchThrowable(() -> pages.parallelStream().collect(new PagesCollector()));
+
+            assertThat(throwable).hasRootCauseInstanceOf(OperationNotSupportedException.class);
+        }
+    }
+
+    @Test
+    void should_not_modify_source_pages() throws IOException {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+
+        try (PDDocument source = PDDocument.load(pdf)) {
+            PDPage page = source.getPage(1);
+            Object parent = page.getCOSObject().getItem(COSName.PARENT);
+
+            try (PDDocument output = List.of(page, page).stream().collect(new PagesCollector())) {
+                assertThat(output.getNumberOfPages()).isEqualTo(2);
+                assertThat(output.getPage(0).getCOSObject()).isNotSameAs(page.getCOSObject());
+                assertThat(output.getPage(0).getResources()).isNotNull();
+            }
+            assertThat(page.getCOSObject().getItem(COSName.PARENT)).isSameAs(parent);
+        }
+    }
+
+    @Test
+    void should_not_modify_source_link_destinations() throws IOException {
+        try (PDDocument source = new PDDocument()) {
+            source.addPage(new PDPage());
+            source.addPage(new PDPage());
+            PDPage page = source.getPage(0);
+            PDAnnotationLink link = new PDAnnotationLink();
+            PDPageFitDestination destination = new PDPageFitDestination();
+            destination.setPage(source.getPage(1));
+            link.setDestination(destination);
+            page.getAnnotations().add(link);
+
+            try (PDDocument output = List.of(page).stream().collect(new PagesCollector())) {
+                PDAnnotationLink copiedLink = (PDAnnotationLink) output.getPage(0).getAnnotations().get(0);
+                assertThat(((PDPageDestination) copiedLink.getDestination()).getPage()).isNull();
+            }
+            assertThat(destination.getPage().getCOSObject()).isSameAs(source.getPage(1).getCOSObject());
+            assertThat(link.getCOSObject().getDictionaryObject(COSName.DEST)).isSameAs(destination.getCOSObject());
+        }
+    }
+}
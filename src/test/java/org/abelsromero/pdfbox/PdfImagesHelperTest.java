@@ -1,17 +1,44 @@
 package org.abelsromero.pdfbox;
 
 
+import org.abelsromero.pdfbox.api.ExtractionOptions;
 import org.abelsromero.pdfbox.api.Image;
+import org.abelsromero.pdfbox.api.LoadingPolicy;
 import org.abelsromero.pdfbox.api.PdfImagesHelper;
+import org.abelsromero.pdfbox.api.Stamp;
 import org.abelsromero.pdfbox.ex.PdfProcessingException;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.abelsromero.pdfbox.TestUtils.createTestDirectory;
 import static org.abelsromero.pdfbox.utils.LocalUtils.getFileFromClassPath;
@@ -71,6 +98,36 @@ public class PdfImagesHelperTest {
         assertThat(PDDocument.load(output).getPages()).hasSize(1);
     }
 
+    @Test
+    void should_stamp_a_PNG_image_loading_the_pdf_with_temp_files() throws IOException {
+        File input = getFileFromClassPath("sample.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+        File outputDir = createTestDirectory("stamp");
+
+        float x = PDRectangle.A4.getWidth() / 2f;
+        float y = PDRectangle.A4.getHeight() / 2f;
+        PdfImagesHelper.Builder.loadPdf(input, LoadingPolicy.tempFileOnly().tempDir(outputDir))
+            .stampImage(image, 1, x, y, "")
+            .writeTo(new File(outputDir, "output.pdf"));
+
+        File output = new File(outputDir, "output.pdf");
+        assertThat(output).exists();
+        assertThat(PDDocument.load(output).getPages()).hasSize(1);
+    }
+
+    @Test
+    void should_remove_temporary_files_on_close() throws IOException {
+        File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File tempDir = createTestDirectory("temp-dir");
+
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(input, LoadingPolicy.tempFileOnly().tempDir(tempDir))) {
+            assertThat(helper.getPagesCount()).isPositive();
+            assertThat(tempDir.listFiles()).isNotEmpty();
+        }
+
+        assertThat(tempDir.listFiles()).isEmpty();
+    }
+
     @Test
     void should_stamp_a_PNG_image_to_the_second_page() throws IOException {
         File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
@@ -89,6 +146,154 @@ public class PdfImagesHelperTest {
         assertThat(PDDocument.load(output).getPages()).hasSizeGreaterThan(2);
     }
 
+    @Test
+    void should_embed_once_an_image_stamped_in_several_pages() throws IOException {
+        File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+        File outputDir = createTestDirectory("stamp");
+
+        float x = PDRectangle.A4.getWidth() / 2f;
+        float y = PDRectangle.A4.getHeight() / 2f;
+        PdfImagesHelper.Builder.loadPdf(input)
+            .stampImage(image, 1, x, y, "")
+            .stampImage(image, 2, x, y, "")
+            .writeTo(new File(outputDir, "output.pdf"));
+
+        try (PDDocument document = PDDocument.load(new File(outputDir, "output.pdf"))) {
+            COSObject firstImage = stampedImage(document.getPage(0));
+            COSObject secondImage = stampedImage(document.getPage(1));
+            assertThat(firstImage.getObjectNumber()).isEqualTo(secondImage.getObjectNumber());
+        }
+    }
+
+    @Test
+    void should_stamp_an_image_in_several_pages_in_a_single_pass() throws IOException {
+        File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+        File outputDir = createTestDirectory("stamp");
+
+        float x = PDRectangle.A4.getWidth() / 2f;
+        float y = PDRectangle.A4.getHeight() / 2f;
+        List<Stamp> stamps = List.of(
+            Stamp.of(image, 1, x, y),
+            Stamp.of(image, 3, x, y).withNote("third"),
+            Stamp.of(image, 3, 10, 10));
+
+        PdfImagesHelper.Builder.loadPdf(input)
+            .stampImages(stamps)
+            .writeTo(new File(outputDir, "output.pdf"));
+
+        try (PDDocument original = PDDocument.load(input);
+             PDDocument document = PDDocument.load(new File(outputDir, "output.pdf"))) {
+            assertThat(document.getPage(0).getAnnotations()).hasSize(original.getPage(0).getAnnotations().size() + 1);
+            assertThat(document.getPage(1).getAnnotations()).hasSize(original.getPage(1).getAnnotations().size());
+            assertThat(document.getPage(2).getAnnotations()).hasSize(original.getPage(2).getAnnotations().size() + 2);
+        }
+    }
+
+    @Test
+    void should_fail_batch_stamp_if_any_position_is_out_of_page() {
+        File input = getFileFromClassPath("sample.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+
+        PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(input);
+        Throwable throwable = catchThrowable(() -> {
+            helper.stampImages(List.of(
+                Stamp.of(image, 1, 10, 10),
+                Stamp.of(image, 1, -1, -1)));
+        });
+
+        assertThat(throwable).isInstanceOf(PdfProcessingException.class);
+    }
+
+    private static COSObject stampedImage(PDPage page) throws IOException {
+        List<PDAnnotation> annotations = page.getAnnotations();
+        PDResources resources = annotations.get(annotations.size() - 1).getNormalAppearanceStream().getResources();
+        COSName name = resources.getXObjectNames().iterator().next();
+        COSDictionary xobjects = (COSDictionary) resources.getCOSObject().getDictionaryObject(COSName.XOBJECT);
+        return (COSObject) xobjects.getItem(name);
+    }
+
+    @Test
+    void should_stamp_a_PNG_image_with_an_incremental_update() throws IOException {
+        File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+        File outputDir = createTestDirectory("stamp");
+
+        float x = PDRectangle.A4.getWidth() / 2f;
+        float y = PDRectangle.A4.getHeight() / 2f;
+        PdfImagesHelper.Builder.loadPdf(input)
+            .stampImage(image, 2, x, y, "")
+            .writeIncrementalTo(new File(outputDir, "output.pdf"));
+
+        File output = new File(outputDir, "output.pdf");
+        byte[] original = Files.readAllBytes(input.toPath());
+        byte[] updated = Files.readAllBytes(output.toPath());
+        // original bytes are preserved and changes appended
+        assertThat(Arrays.copyOf(updated, original.length)).isEqualTo(original);
+        assertThat(updated.length).isGreaterThan(original.length);
+        try (PDDocument document = PDDocument.load(output)) {
+            assertThat(document.getPage(1).getAnnotations()).isNotEmpty();
+        }
+    }
+
+    @Test
+    void should_overlay_a_PNG_image_with_an_incremental_update() throws IOException {
+        File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+        File outputDir = createTestDirectory("overlay");
+
+        PdfImagesHelper.Builder.loadPdf(input)
+            .overlayImage(image, 2, 50, 50, 50)
+            .writeIncrementalTo(new File(outputDir, "output.pdf"));
+
+        File output = new File(outputDir, "output.pdf");
+        assertThat(Arrays.copyOf(Files.readAllBytes(output.toPath()), (int) input.length()))
+            .isEqualTo(Files.readAllBytes(input.toPath()));
+        try (PDDocument original = PDDocument.load(input);
+             PDDocument document = PDDocument.load(output)) {
+            assertThat(xObjectsCount(document.getPage(1))).isEqualTo(xObjectsCount(original.getPage(1)) + 1);
+            assertThat(contentStreamsCount(document.getPage(1))).isGreaterThan(contentStreamsCount(original.getPage(1)));
+        }
+        assertThat(drawnImagesCount(output, 2)).isEqualTo(drawnImagesCount(input, 2) + 1);
+    }
+
+    @Test
+    void should_replace_a_page_with_an_image_with_an_incremental_update() throws IOException {
+        File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+        File outputDir = createTestDirectory("replace");
+
+        PdfImagesHelper.Builder.loadPdf(input)
+            .replaceWithImage(image, 2, 100, 100)
+            .writeIncrementalTo(new File(outputDir, "output.pdf"));
+
+        File output = new File(outputDir, "output.pdf");
+        assertThat(Arrays.copyOf(Files.readAllBytes(output.toPath()), (int) input.length()))
+            .isEqualTo(Files.readAllBytes(input.toPath()));
+        try (PDDocument original = PDDocument.load(input);
+             PDDocument document = PDDocument.load(output)) {
+            assertThat(xObjectsCount(document.getPage(1))).isEqualTo(xObjectsCount(original.getPage(1)) + 1);
+        }
+        assertThat(drawnImagesCount(output, 2)).isEqualTo(1);
+    }
+
+    @Test
+    void should_fail_incremental_update_of_a_new_pdf() throws IOException {
+        File output = new File(createTestDirectory(), "output.pdf");
+        Files.write(output.toPath(), new byte[]{1, 2, 3});
+
+        Throwable throwable = catchThrowable(() -> {
+            PdfImagesHelper.Builder.createEmptyPdf()
+                .addPage()
+                .writeIncrementalTo(output);
+        });
+
+        assertThat(throwable).isInstanceOf(PdfProcessingException.class);
+        // target is not truncated
+        assertThat(output).hasBinaryContent(new byte[]{1, 2, 3});
+    }
+
     @Test
     void should_overlay_a_PNG_image_to_the_second_page() throws IOException {
         File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
@@ -104,6 +309,44 @@ public class PdfImagesHelperTest {
         assertThat(PDDocument.load(output).getPages()).hasSizeGreaterThan(1);
     }
 
+    @Test
+    void should_overlay_a_PNG_image_to_several_pages() throws IOException {
+        File input = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+        File outputDir = createTestDirectory("overlay");
+
+        PdfImagesHelper.Builder.loadPdf(input)
+            .overlayImage(image, List.of(2, 4), 50, 50, 50)
+            .writeTo(new File(outputDir, "output.pdf"));
+
+        try (PDDocument original = PDDocument.load(input);
+             PDDocument document = PDDocument.load(new File(outputDir, "output.pdf"))) {
+            assertThat(xObjectsCount(document.getPage(1))).isEqualTo(xObjectsCount(original.getPage(1)) + 1);
+            assertThat(xObjectsCount(document.getPage(3))).isEqualTo(xObjectsCount(original.getPage(3)) + 1);
+        }
+    }
+
+    private static int contentStreamsCount(PDPage page) {
+        COSBase contents = page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+        return contents instanceof COSArray ? ((COSArray) contents).size() : 1;
+    }
+
+    private static long drawnImagesCount(File pdf, int page) {
+        return PdfImagesHelper.Builder.loadPdf(pdf)
+            .listImages()
+            .stream()
+            .filter(image -> image.getPage() == page)
+            .count();
+    }
+
+    private static int xObjectsCount(PDPage page) {
+        int count = 0;
+        for (COSName ignored : page.getResources().getXObjectNames()) {
+            count++;
+        }
+        return count;
+    }
+
     @Disabled("internal test")
     void should_overlay_a_Contract_image_to_the_second_page() throws IOException {
         File input = getFileFromClassPath("CONTRATO.pdf");
@@ -289,6 +532,214 @@ public class PdfImagesHelperTest {
         assertThat(secondImage.getOriginalWidth()).isEqualTo(1200);
     }
 
+    @Test
+    void should_list_images_without_writing_them() {
+        File input = getFileFromClassPath("document-with-images.pdf");
+
+        var images = PdfImagesHelper.Builder.loadPdf(input).listImages();
+
+        assertThat(images).hasSize(2);
+        assertThat(images).extracting(Image::getOriginalWidth).containsExactly(104, 1200);
+        for (Image image : images) {
+            assertThat(image.getFile()).isNull();
+            assertThat(image.getFilters()).containsExactly("FlateDecode");
+            assertThat(image.getColorSpace()).isEqualTo("DeviceRGB");
+            assertThat(image.getBitsPerComponent()).isEqualTo(8);
+            assertThat(image.getStreamLength()).isPositive();
+            assertThat(image.getRenderedWidth()).isGreaterThan(1);
+        }
+    }
+
+    @Test
+    void should_list_jpx_images_without_decoding() throws IOException {
+        File input = new File(createTestDirectory(), "jpx.pdf");
+        byte[] jpx = createPdfWithJpx(input);
+
+        List<Image> images;
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(input)) {
+            images = helper.listImages();
+        }
+
+        assertThat(images).hasSize(1);
+        Image image = images.get(0);
+        assertThat(image.getOriginalWidth()).isEqualTo(64);
+        assertThat(image.getOriginalHeight()).isEqualTo(64);
+        assertThat(image.getFilters()).containsExactly("JPXDecode");
+        assertThat(image.getColorSpace()).isNull();
+        assertThat(image.getStreamLength()).isEqualTo(jpx.length);
+    }
+
+    @Test
+    void should_write_all_images_in_parallel() throws IOException {
+        File input = getFileFromClassPath("document-with-images.pdf");
+        File outputDir = createTestDirectory();
+        File imagesDir = new File(outputDir, "extracted-images");
+        File serialImagesDir = new File(outputDir, "serial-extracted-images");
+
+        List<Image> images;
+        List<Image> serialImages;
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(input)) {
+            images = helper.writeImagesToDir(imagesDir, input.getName(), ExtractionOptions.with().parallel(4));
+            serialImages = helper.writeImagesToDir(serialImagesDir, input.getName());
+        }
+
+        assertThat(imagesDir.listFiles()).hasSize(2);
+        assertThat(images).hasSize(2);
+        assertThat(images).extracting(Image::getOriginalWidth).containsExactly(104, 1200);
+        assertThat(images).extracting(Image::getPage)
+            .containsExactlyElementsOf(serialImages.stream().map(Image::getPage).collect(Collectors.toList()));
+        assertThat(images).extracting(image -> image.getFile().getName())
+            .containsExactlyElementsOf(serialImages.stream().map(image -> image.getFile().getName()).collect(Collectors.toList()));
+        for (int i = 0; i < images.size(); i++) {
+            assertThat(images.get(i).getFile()).hasSameBinaryContentAs(serialImages.get(i).getFile());
+        }
+    }
+
+    @Test
+    void should_write_all_images_in_parallel_from_a_modified_document() throws IOException {
+        File input = getFileFromClassPath("document-with-images.pdf");
+        File image = getFileFromClassPath("ruby-icon.png");
+        File outputDir = createTestDirectory();
+        File imagesDir = new File(outputDir, "extracted-images");
+
+        PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(input)
+            .overlayImage(image, 2, 50, 50, 50);
+        var images = helper.writeImagesToDir(imagesDir, input.getName(), ExtractionOptions.with().parallel(2));
+
+        assertThat(imagesDir.listFiles()).hasSize(3);
+        assertThat(images).hasSize(3);
+        assertThat(images.get(2).getPage()).isEqualTo(2);
+    }
+
+    @Test
+    void should_copy_jpeg_images_without_decoding() throws IOException {
+        File outputDir = createTestDirectory();
+        File imagesDir = new File(outputDir, "extracted-images");
+        File input = new File(outputDir, "jpeg.pdf");
+        byte[] jpeg = createPdfWithJpeg(input);
+
+        var images = PdfImagesHelper.Builder.loadPdf(input)
+            .writeImagesToDir(imagesDir, "jpeg", ExtractionOptions.with().rawPassthrough());
+
+        assertThat(images).hasSize(1);
+        assertThat(new File(imagesDir, "jpeg-1-1.jpg")).hasBinaryContent(jpeg);
+    }
+
+    @Test
+    void should_copy_jpx_images_without_decoding() throws IOException {
+        File outputDir = createTestDirectory();
+        File imagesDir = new File(outputDir, "extracted-images");
+        File input = new File(outputDir, "jpx.pdf");
+        byte[] jpx = createPdfWithJpx(input);
+
+        List<Image> images;
+        try (PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(input)) {
+            images = helper.writeImagesToDir(imagesDir, "jpx", ExtractionOptions.with().rawPassthrough());
+        }
+
+        assertThat(images).hasSize(1);
+        assertThat(new File(imagesDir, "jpx-1-1.jpx")).hasBinaryContent(jpx);
+    }
+
+    @Test
+    void should_write_downscaled_jpeg_images() throws IOException {
+        File input = getFileFromClassPath("document-with-images.pdf");
+        File outputDir = createTestDirectory();
+        File imagesDir = new File(outputDir, "extracted-images");
+
+        var options = ExtractionOptions.with()
+            .format(ExtractionOptions.Format.JPEG)
+            .quality(0.5f)
+            .maxDimension(100);
+        var images = PdfImagesHelper.Builder.loadPdf(input)
+            .writeImagesToDir(imagesDir, "image", options);
+
+        assertThat(images).hasSize(2);
+        File[] files = imagesDir.listFiles();
+        assertThat(files).hasSize(2);
+        for (File file : files) {
+            assertThat(file.getName()).endsWith(".jpg");
+            BufferedImage image = ImageIO.read(file);
+            assertThat(Math.max(image.getWidth(), image.getHeight())).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void should_write_gray_tiff_images() throws IOException {
+        File input = getFileFromClassPath("document-with-images.pdf");
+        File outputDir = createTestDirectory();
+        File imagesDir = new File(outputDir, "extracted-images");
+
+        var options = ExtractionOptions.with()
+            .format(ExtractionOptions.Format.TIFF)
+            .colorSpace(ExtractionOptions.ColorSpace.GRAY);
+        PdfImagesHelper.Builder.loadPdf(input)
+            .writeImagesToDir(imagesDir, "image", options);
+
+        File[] files = imagesDir.listFiles();
+        assertThat(files).hasSize(2);
+        for (File file : files) {
+            assertThat(file.getName()).endsWith(".tiff");
+            assertThat(ImageIO.read(file).getColorModel().getNumColorComponents()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void should_fail_with_invalid_quality() {
+        Throwable throwable = catchThrowable(() -> ExtractionOptions.with().quality(1.5f));
+
+        assertThat(throwable)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid quality: 1.5");
+    }
+
+    @Test
+    void should_stream_all_images() throws IOException {
+        File input = getFileFromClassPath("document-with-images.pdf");
+
+        PdfImagesHelper helper = PdfImagesHelper.Builder.loadPdf(input);
+        try (var images = helper.streamRenderedImages()) {
+            assertThat(images.map(RenderedImage::getWidth)).containsExactlyInAnyOrder(104, 1200);
+        }
+        try (var images = helper.streamRenderedImages()) {
+            assertThat(images.limit(1)).hasSize(1);
+        }
+    }
+
+    @Test
+    void should_write_images_drawn_in_several_pages_once() throws IOException {
+        File image = getFileFromClassPath("ruby-icon.png");
+        File imagesDir = new File(createTestDirectory(), "extracted-images");
+
+        PdfImagesHelper helper = PdfImagesHelper.Builder.createEmptyPdf()
+            .addPage()
+            .addPage()
+            .addPage()
+            .overlayImage(image, List.of(1, 2, 3), 50, 50, 50);
+        var images = helper.writeImagesToDir(imagesDir, "logo");
+
+        assertThat(images).hasSize(3);
+        assertThat(images).extracting(Image::getPage).containsExactly(1, 2, 3);
+        assertThat(images).extracting(Image::getFile).containsOnly(new File(imagesDir, "logo-1-1.png"));
+        assertThat(imagesDir.listFiles()).hasSize(1);
+        assertThat(helper.getRenderedImages()).hasSize(1);
+    }
+
+    @Test
+    void should_write_duplicated_images() throws IOException {
+        File image = getFileFromClassPath("ruby-icon.png");
+        File imagesDir = new File(createTestDirectory(), "extracted-images");
+
+        var images = PdfImagesHelper.Builder.createEmptyPdf()
+            .addPage()
+            .addPage()
+            .overlayImage(image, List.of(1, 2), 50, 50, 50)
+            .writeImagesToDir(imagesDir, "logo", ExtractionOptions.with().writeDuplicates());
+
+        assertThat(images).extracting(Image::getFile).doesNotHaveDuplicates();
+        assertThat(imagesDir.listFiles()).hasSize(2);
+    }
+
     @Test
     void should_extract_all_images() throws IOException {
         File input = getFileFromClassPath("document-with-images.pdf");
@@ -298,4 +749,63 @@ public class PdfImagesHelperTest {
 
         assertThat(images).hasSize(2);
     }
+
+    /**
+     * Creates a single page PDF with a JPEG image, returns the image bytes as stored in the PDF.
+     */
+    private static byte[] createPdfWithJpeg(File file) throws IOException {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(16, 16, 32, 32);
+        graphics.dispose();
+
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            PDImageXObject jpeg = JPEGFactory.createFromImage(document, image);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.drawImage(jpeg, 50, 50);
+            }
+            document.save(file);
+            try (InputStream raw = jpeg.getCOSObject().createRawInputStream()) {
+                return raw.readAllBytes();
+            }
+        }
+    }
+
+    /**
+     * Creates a PDF with a JPEG 2000 image whose data is not a valid codestream, so it fails if decoded.
+     */
+    private static byte[] createPdfWithJpx(File file) throws IOException {
+        byte[] jpx = {0, 0, 0, 12, 'j', 'P', ' ', ' ', 13, 10, -121, 10};
+
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            COSStream image = document.getDocument().createCOSStream();
+            try (OutputStream output = image.createRawOutputStream()) {
+                output.write(jpx);
+            }
+            image.setItem(COSName.TYPE, COSName.XOBJECT);
+            image.setItem(COSName.SUBTYPE, COSName.IMAGE);
+            image.setItem(COSName.FILTER, COSName.JPX_DECODE);
+            image.setInt(COSName.WIDTH, 64);
+            image.setInt(COSName.HEIGHT, 64);
+
+            COSDictionary xobjects = new COSDictionary();
+            xobjects.setItem(COSName.getPDFName("Im1"), image);
+            PDResources resources = new PDResources();
+            resources.getCOSObject().setItem(COSName.XOBJECT, xobjects);
+            page.setResources(resources);
+
+            PDStream contents = new PDStream(document);
+            try (OutputStream output = contents.createOutputStream()) {
+                output.write("q 64 0 0 64 50 50 cm /Im1 Do Q".getBytes(StandardCharsets.US_ASCII));
+            }
+            page.setContents(contents);
+            document.save(file);
+        }
+        return jpx;
+    }
 }
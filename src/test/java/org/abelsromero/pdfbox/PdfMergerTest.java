@@ -0,0 +1,75 @@
+package org.abelsromero.pdfbox;
+
+import org.abelsromero.pdfbox.api.LoadingPolicy;
+import org.abelsromero.pdfbox.api.PdfImagesHelper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.abelsromero.pdfbox.TestUtils.createTestDirectory;
+import static org.abelsromero.pdfbox.utils.LocalUtils.getFileFromClassPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfMergerTest {
+
+    @Test
+    void should_merge_documents_in_order() throws IOException {
+        File manual = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File withImages = getFileFromClassPath("document-with-images.pdf");
+        File target = new File(createTestDirectory("merge"), "merged.pdf");
+
+        new PdfMerger()
+            .loadingPolicy(LoadingPolicy.tempFileOnly())
+            .processFiles(List.of(manual, withImages, manual), target);
+
+        try (PDDocument merged = PDDocument.load(target)) {
+            assertThat(merged.getNumberOfPages()).isEqualTo(7 + 2 + 7);
+        }
+        // resources are copied, not referenced from the closed sources
+        int manualImages = PdfImagesHelper.Builder.loadPdf(manual).getRenderedImages().size();
+        int otherImages = PdfImagesHelper.Builder.loadPdf(withImages).getRenderedImages().size();
+        assertThat(PdfImagesHelper.Builder.loadPdf(target).getRenderedImages()).hasSize(2 * manualImages + otherImages);
+    }
+
+    @Test
+    void should_merge_documents_in_order_while_prefetching() throws IOException {
+        File manual = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File withImages = getFileFromClassPath("document-with-images.pdf");
+        File target = new File(createTestDirectory("merge"), "merged.pdf");
+
+        new PdfMerger()
+            .prefetch(2)
+            .processFiles(List.of(withImages, manual, manual, withImages, manual), target);
+
+        try (PDDocument merged = PDDocument.load(target);
+             PDDocument first = PDDocument.load(withImages)) {
+            assertThat(merged.getNumberOfPages()).isEqualTo(2 + 7 + 7 + 2 + 7);
+            assertThat(merged.getPage(0).getMediaBox().getWidth()).isEqualTo(first.getPage(0).getMediaBox().getWidth());
+        }
+    }
+
+    @Test
+    void should_merge_documents_with_a_single_copy_of_identical_resources() throws IOException {
+        File withImages = getFileFromClassPath("document-with-images.pdf");
+        File outputDir = createTestDirectory("merge");
+        File duplicated = new File(outputDir, "duplicated.pdf");
+        File deduplicated = new File(outputDir, "deduplicated.pdf");
+        List<File> sources = List.of(withImages, withImages, withImages);
+
+        new PdfMerger()
+            .processFiles(sources, duplicated);
+        new PdfMerger()
+            .deduplicateResources()
+            .processFiles(sources, deduplicated);
+
+        assertThat(deduplicated.length()).isLessThan(duplicated.length() / 2);
+        int sourceImages = PdfImagesHelper.Builder.loadPdf(withImages).getRenderedImages().size();
+        assertThat(PdfImagesHelper.Builder.loadPdf(deduplicated).getRenderedImages()).hasSize(sourceImages);
+        try (PDDocument merged = PDDocument.load(deduplicated)) {
+            assertThat(merged.getNumberOfPages()).isEqualTo(6);
+        }
+    }
+}
@@ -2,7 +2,18 @@ package org.abelsromero.pdfbox;
 
 import org.abelsromero.pdfbox.api.PdfPageSelector;
 import org.abelsromero.pdfbox.api.SelectorOptions;
+import org.abelsromero.pdfbox.api.SelectorSession;
+import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.interactive.action.PDActionGoTo;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationPopup;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationText;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageFitDestination;
 import org.apache.pdfbox.preflight.PreflightDocument;
 import org.apache.pdfbox.preflight.ValidationResult;
 import org.apache.pdfbox.preflight.parser.PreflightParser;
@@ -12,6 +23,8 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.abelsromero.pdfbox.TestUtils.createTestDirectory;
 import static org.abelsromero.pdfbox.utils.LocalUtils.getFileFromClassPath;
@@ -178,6 +191,160 @@ class PdfPageSelectorTest {
         assertThat(PDDocument.load(output).getPages()).hasSize(5);
     }
 
+    @Test
+    void should_extract_pages_from_a_ranges_expression() throws IOException {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        var outputPdf = new ByteArrayOutputStream();
+
+        PdfPageSelector.builder()
+            .file(pdf)
+            .pages("2-4,6-end,odd")
+            .writeTo(outputPdf);
+
+        // 3 + 2 + 4 pages of the 7 in the document
+        assertThat(PDDocument.load(outputPdf.toByteArray()).getPages()).hasSize(9);
+    }
+
+    @Test
+    void should_extract_several_selections_from_the_same_session() throws IOException {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File outputDir = createTestDirectory();
+
+        try (SelectorSession session = PdfPageSelector.builder()
+            .file(pdf)
+            .openSession()) {
+
+            session.writeTo(new File(outputDir, "first.pdf"), 1, 2);
+            session.writeTo(new File(outputDir, "second.pdf"), 2, 3, 2);
+            session.writeTo(new File(outputDir, "third.pdf"), 1);
+        }
+
+        try (PDDocument first = PDDocument.load(new File(outputDir, "first.pdf"));
+             PDDocument second = PDDocument.load(new File(outputDir, "second.pdf"));
+             PDDocument third = PDDocument.load(new File(outputDir, "third.pdf"))) {
+            assertThat(first.getPages()).hasSize(2);
+            assertThat(second.getPages()).hasSize(3);
+            assertThat(third.getPages()).hasSize(1);
+        }
+    }
+
+    @Test
+    void should_extract_selections_from_a_session_concurrently() throws Exception {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+        File outputDir = createTestDirectory();
+
+        try (SelectorSession session = PdfPageSelector.builder()
+            .file(pdf)
+            .openSession()) {
+            IntStream.rangeClosed(1, 8)
+                .parallel()
+                .forEach(i -> session.writeTo(new File(outputDir, "page-" + i + ".pdf"), i % 7 + 1, 1));
+        }
+
+        for (int i = 1; i <= 8; i++) {
+            try (PDDocument output = PDDocument.load(new File(outputDir, "page-" + i + ".pdf"))) {
+                assertThat(output.getPages()).hasSize(2);
+            }
+        }
+    }
+
+    @Test
+    void should_extract_a_commented_page_without_the_rest_of_the_document() throws IOException {
+        File outputDir = createTestDirectory();
+        File source = new File(outputDir, "commented.pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 3; i++) {
+                document.addPage(new PDPage(PDRectangle.A4));
+            }
+            PDPage page = document.getPage(1);
+            PDAnnotationText comment = new PDAnnotationText();
+            comment.setRectangle(new PDRectangle(100, 100, 20, 20));
+            comment.setContents("A comment");
+            comment.setPage(page);
+            PDAnnotationPopup popup = new PDAnnotationPopup();
+            popup.setRectangle(new PDRectangle(120, 100, 200, 100));
+            popup.setPage(page);
+            popup.setParent(comment);
+            comment.setPopup(popup);
+            page.getAnnotations().add(comment);
+            page.getAnnotations().add(popup);
+            document.save(source);
+        }
+
+        File output = new File(outputDir, "output.pdf");
+        PdfPageSelector.builder()
+            .file(source)
+            .pages(2)
+            .writeTo(output);
+
+        try (PDDocument document = PDDocument.load(output)) {
+            assertThat(document.getDocument().getObjectsByType(COSName.PAGE)).hasSize(1);
+            List<PDAnnotation> annotations = document.getPage(0).getAnnotations();
+            assertThat(annotations).hasSize(2);
+            PDAnnotationText comment = (PDAnnotationText) annotations.get(0);
+            PDAnnotationPopup popup = (PDAnnotationPopup) annotations.get(1);
+            assertThat(comment.getPopup().getCOSObject()).isSameAs(popup.getCOSObject());
+            assertThat(popup.getParent().getCOSObject()).isSameAs(comment.getCOSObject());
+            assertThat(comment.getPage().getCOSObject()).isSameAs(document.getPage(0).getCOSObject());
+        }
+    }
+
+    @Test
+    void should_extract_a_linked_page_without_the_rest_of_the_document() throws IOException {
+        File outputDir = createTestDirectory();
+        File source = new File(outputDir, "linked.pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 5; i++) {
+                document.addPage(new PDPage(PDRectangle.A4));
+            }
+            PDPage page = document.getPage(0);
+            PDAnnotationLink link = new PDAnnotationLink();
+            link.setRectangle(new PDRectangle(100, 100, 100, 20));
+            PDPageFitDestination destination = new PDPageFitDestination();
+            destination.setPage(document.getPage(3));
+            link.setDestination(destination);
+            PDAnnotationLink actionLink = new PDAnnotationLink();
+            actionLink.setRectangle(new PDRectangle(100, 200, 100, 20));
+            PDPageFitDestination actionDestination = new PDPageFitDestination();
+            actionDestination.setPage(document.getPage(4));
+            PDActionGoTo action = new PDActionGoTo();
+            action.setDestination(actionDestination);
+            actionLink.setAction(action);
+            page.getAnnotations().add(link);
+            page.getAnnotations().add(actionLink);
+            document.save(source);
+        }
+
+        File output = new File(outputDir, "output.pdf");
+        PdfPageSelector.builder()
+            .file(source)
+            .pages(1)
+            .writeTo(output);
+
+        try (PDDocument document = PDDocument.load(output)) {
+            assertThat(document.getDocument().getObjectsByType(COSName.PAGE)).hasSize(1);
+            List<PDAnnotation> annotations = document.getPage(0).getAnnotations();
+            assertThat(annotations).hasSize(2);
+            PDAnnotationLink link = (PDAnnotationLink) annotations.get(0);
+            assertThat(((PDPageDestination) link.getDestination()).getPage()).isNull();
+            PDAnnotationLink actionLink = (PDAnnotationLink) annotations.get(1);
+            assertThat(((PDPageDestination) ((PDActionGoTo) actionLink.getAction()).getDestination()).getPage()).isNull();
+        }
+    }
+
+    @Test
+    void should_fail_when_using_a_closed_session() throws IOException {
+        File pdf = getFileFromClassPath("asciidoctor-example-manual.pdf");
+
+        SelectorSession session = PdfPageSelector.builder()
+            .file(pdf)
+            .openSession();
+        session.close();
+        Throwable throwable = catchThrowable(() -> session.writeTo(new ByteArrayOutputStream(), 1));
+
+        assertThat(throwable).isInstanceOf(IllegalStateException.class);
+    }
+
     // TODO look for alternative method, not sure this is 100% reliable
     boolean isPDFA(File file) {
         try {
@@ -1,15 +1,27 @@
 package org.abelsromero.pdfbox;
 
+import org.abelsromero.pdfbox.api.LoadingPolicy;
 import org.abelsromero.pdfbox.api.PdfRotator;
+import org.abelsromero.pdfbox.api.RotationMode;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.abelsromero.pdfbox.TestUtils.createTestDirectory;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 public class PdfRotatorTest {
 
@@ -39,6 +51,97 @@ public class PdfRotatorTest {
         assertNewSize(outputDir, 842, 596);
     }
 
+    @Test
+    void should_remove_temporary_files_on_close() throws IOException {
+        File outputDir = createTestDirectory();
+        File tempDir = createTestDirectory("temp-dir");
+        File file = new File("src/test/resources", SRC_PDF_FILE);
+
+        try (PdfRotator rotator = PdfRotator.loadPdf(file, LoadingPolicy.tempFileOnly().tempDir(tempDir))) {
+            rotator.rotateRight()
+                .writeTo(new File(outputDir, "output.pdf"));
+            assertThat(tempDir.listFiles()).isNotEmpty();
+        }
+
+        assertThat(tempDir.listFiles()).isEmpty();
+        assertNewSize(outputDir, 843, 596);
+    }
+
+    @Test
+    void should_share_the_rotation_matrix_between_pages() throws IOException {
+        File outputDir = createTestDirectory();
+        File file = new File("src/test/resources", SRC_PDF_FILE);
+
+        PdfRotator.loadPdf(file)
+            .rotateRight()
+            .writeTo(new File(outputDir, "output.pdf"));
+
+        try (PDDocument document = PDDocument.load(new File(outputDir, "output.pdf"))) {
+            Set<Long> matrixStreams = new HashSet<>();
+            for (PDPage page : document.getPages()) {
+                COSArray contents = (COSArray) page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+                matrixStreams.add(((COSObject) contents.get(0)).getObjectNumber());
+            }
+            assertThat(matrixStreams).hasSize(1);
+        }
+    }
+
+    @Test
+    void should_rotate_pages_setting_the_rotate_attribute() throws IOException {
+        File outputDir = createTestDirectory();
+        File file = new File("src/test/resources", SRC_PDF_FILE);
+
+        PdfRotator.loadPdf(file)
+            .mode(RotationMode.ATTRIBUTE)
+            .rotateRight()
+            .rotateRight()
+            .rotateRight()
+            .writeTo(new File(outputDir, "output.pdf"));
+
+        try (PDDocument original = PDDocument.load(file);
+             PDDocument document = PDDocument.load(new File(outputDir, "output.pdf"))) {
+            for (int i = 0; i < document.getNumberOfPages(); i++) {
+                PDPage page = document.getPage(i);
+                PDPage originalPage = original.getPage(i);
+                assertThat(page.getRotation()).isEqualTo((originalPage.getRotation() + 270) % 360);
+                assertThat(page.getCropBox().getWidth()).isEqualTo(originalPage.getCropBox().getWidth());
+                assertThat(page.getContentStreams()).toIterable().hasSameSizeAs(() -> originalPage.getContentStreams());
+            }
+        }
+    }
+
+    @Test
+    void should_rotate_each_page_by_its_own_angle() throws IOException {
+        File outputDir = createTestDirectory();
+        File file = new File("src/test/resources", SRC_PDF_FILE);
+
+        PdfRotator.loadPdf(file)
+            .rotate(Map.of(2, 90, 3, 180, 5, 0, 6, -90))
+            .writeTo(new File(outputDir, "output.pdf"));
+
+        try (PDDocument original = PDDocument.load(file);
+             PDDocument document = PDDocument.load(new File(outputDir, "output.pdf"))) {
+            PDRectangle originalBox = original.getPage(0).getCropBox();
+            for (int page : List.of(0, 3, 4, 6)) {
+                assertThat(document.getPage(page).getCOSObject().getDictionaryObject(COSName.CONTENTS))
+                    .hasSameClassAs(original.getPage(page).getCOSObject().getDictionaryObject(COSName.CONTENTS));
+                assertThat(document.getPage(page).getCropBox().getHeight()).isEqualTo(originalBox.getHeight());
+            }
+            assertThat(document.getPage(1).getCropBox().getWidth()).isEqualTo(843);
+            assertThat(document.getPage(2).getCropBox().getWidth()).isEqualTo(596);
+            assertThat(document.getPage(5).getCropBox().getWidth()).isEqualTo(842);
+        }
+    }
+
+    @Test
+    void should_fail_rotating_a_page_out_of_bounds() {
+        File file = new File("src/test/resources", SRC_PDF_FILE);
+
+        Throwable throwable = catchThrowable(() -> PdfRotator.loadPdf(file).rotate(Map.of(8, 90)));
+
+        assertThat(throwable).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
     private static void assertNewSize(File outputDir, int width, int height) throws IOException {
         File output = new File(outputDir, "output.pdf");
         assertThat(output).exists();
@@ -53,4 +156,17 @@ public class PdfRotatorTest {
             });
     }
 
+    @Test
+    void should_fail_rotating_a_page_with_a_null_angle() {
+        File file = new File("src/test/resources", SRC_PDF_FILE);
+        Map<Integer, Integer> angles = new HashMap<>();
+        angles.put(1, 90);
+        angles.put(2, null);
+
+        Throwable throwable = catchThrowable(() -> PdfRotator.loadPdf(file).rotate(angles));
+
+        assertThat(throwable)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid angle for page 2: null");
+    }
 }
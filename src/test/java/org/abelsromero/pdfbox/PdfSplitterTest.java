@@ -0,0 +1,83 @@
+package org.abelsromero.pdfbox;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.abelsromero.pdfbox.TestUtils.createTestDirectory;
+import static org.abelsromero.pdfbox.utils.LocalUtils.getFileFromClassPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfSplitterTest {
+
+    public static final String SRC_PDF_FILE = "asciidoctor-example-manual.pdf";
+
+    @Test
+    void should_split_a_document_in_single_pages() throws IOException {
+        File pdf = getFileFromClassPath(SRC_PDF_FILE);
+        File outputDir = createTestDirectory("split");
+
+        new PdfSplitter()
+            .processFile(pdf, outputDir);
+
+        assertThat(outputDir.listFiles()).hasSize(7);
+        for (int i = 0; i < 7; i++) {
+            assertPagesCount(new File(outputDir, SRC_PDF_FILE + "-" + i + ".pdf"), 1);
+        }
+    }
+
+    @Test
+    void should_split_a_document_in_chunks_of_3_pages() throws IOException {
+        File pdf = getFileFromClassPath(SRC_PDF_FILE);
+        File outputDir = createTestDirectory("split");
+
+        new PdfSplitter()
+            .pagesPerChunk(3)
+            .processFile(pdf, outputDir);
+
+        assertThat(outputDir.listFiles()).hasSize(3);
+        assertPagesCount(new File(outputDir, SRC_PDF_FILE + "-0.pdf"), 3);
+        assertPagesCount(new File(outputDir, SRC_PDF_FILE + "-3.pdf"), 3);
+        assertPagesCount(new File(outputDir, SRC_PDF_FILE + "-6.pdf"), 1);
+    }
+
+    @Test
+    void should_split_a_document_by_size() throws IOException {
+        File pdf = getFileFromClassPath(SRC_PDF_FILE);
+        File outputDir = createTestDirectory("split");
+
+        // any page is bigger than this, so each one is its own chunk
+        new PdfSplitter()
+            .pagesPerChunk(100)
+            .maxBytesPerChunk(1)
+            .processFile(pdf, outputDir);
+
+        assertThat(outputDir.listFiles()).hasSize(7);
+    }
+
+    @Test
+    void should_split_a_document_in_parallel() throws IOException {
+        File pdf = getFileFromClassPath(SRC_PDF_FILE);
+        File outputDir = createTestDirectory("split");
+
+        PdfSplitter.SplitReport report = new PdfSplitter()
+            .pagesPerChunk(2)
+            .workers(3)
+            .processFile(pdf, outputDir);
+
+        assertThat(report.getWorkers()).hasSize(3);
+        assertThat(report.getPages()).isEqualTo(7);
+        assertThat(report.getChunks()).isEqualTo(4);
+        assertThat(outputDir.listFiles()).hasSize(4);
+        assertPagesCount(new File(outputDir, SRC_PDF_FILE + "-6.pdf"), 1);
+    }
+
+    private static void assertPagesCount(File file, int count) throws IOException {
+        assertThat(file).exists();
+        try (PDDocument document = PDDocument.load(file)) {
+            assertThat(document.getPages()).hasSize(count);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.abelsromero.pdfbox;
+
+import org.abelsromero.pdfbox.api.internal.StreamHasher;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamHasherTest {
+
+    @Test
+    void should_hash_equal_streams_regardless_of_keys_order_and_length() throws IOException {
+        COSStream first = stream(new byte[]{1, 2, 3});
+        first.setInt(COSName.WIDTH, 10);
+        first.setItem(COSName.COLORSPACE, COSName.DEVICERGB);
+        first.setInt(COSName.LENGTH, 3);
+        COSStream second = stream(new byte[]{1, 2, 3});
+        second.setItem(COSName.COLORSPACE, COSName.DEVICERGB);
+        second.setInt(COSName.WIDTH, 10);
+
+        StreamHasher hasher = new StreamHasher();
+
+        assertThat(hasher.hash(first)).isEqualTo(hasher.hash(second));
+    }
+
+    @Test
+    void should_hash_nested_streams_by_content() throws IOException {
+        COSStream first = stream(new byte[]{1, 2, 3});
+        first.setItem(COSName.SMASK, stream(new byte[]{4}));
+        COSStream second = stream(new byte[]{1, 2, 3});
+        second.setItem(COSName.SMASK, stream(new byte[]{4}));
+        COSStream different = stream(new byte[]{1, 2, 3});
+        different.setItem(COSName.SMASK, stream(new byte[]{5}));
+
+        StreamHasher hasher = new StreamHasher();
+
+        assertThat(hasher.hash(first)).isEqualTo(hasher.hash(second));
+        assertThat(hasher.hash(first)).isNotEqualTo(hasher.hash(different));
+    }
+
+    private static COSStream stream(byte[] data) throws IOException {
+        COSStream stream = new COSStream();
+        try (OutputStream output = stream.createRawOutputStream()) {
+            output.write(data);
+        }
+        return stream;
+    }
+}